@@ -0,0 +1,109 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareitServer;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.ItemShortBookingDto;
+import ru.practicum.shareit.item.ItemAvailabilityCalendar;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the server without its web layer and SQL/transaction logging on an in-memory H2 database seeded with users, items,
+ * comments and bookings. The owner {@link #OWNER_ID} has {@link #ITEMS_PER_USER} items with
+ * past, current and future bookings of every status, and the approved ones make the items busy.
+ */
+@State(Scope.Benchmark)
+public class H2ServerState {
+
+    static final int OWNER_ID = 1;
+    static final int ITEM_ID = 1;
+
+    private static final int USERS = 200;
+    private static final int ITEMS_PER_USER = 5;
+    private static final int BOOKINGS_PER_ITEM = 20;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ShareitServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.main.banner-mode=off",
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN");
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        List<ItemShortBookingDto> approvedBookings = new ArrayList<>();
+        Status[] statuses = Status.values();
+
+        for (int userId = 1; userId <= USERS; userId++) {
+            users.add(new Object[]{userId, "user" + userId, "user" + userId + "@mail.ru"});
+        }
+        int itemId = 0;
+        int bookingId = 0;
+        for (int ownerId = 1; ownerId <= USERS; ownerId++) {
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                itemId++;
+                items.add(new Object[]{itemId, "item" + itemId, "description" + itemId, true, ownerId});
+                comments.add(new Object[]{itemId, "comment" + itemId, Timestamp.valueOf(now), itemId,
+                        ownerId % USERS + 1});
+                for (int b = 0; b < BOOKINGS_PER_ITEM; b++) {
+                    bookingId++;
+                    LocalDateTime start = now.plusDays(b - BOOKINGS_PER_ITEM / 2);
+                    int bookerId = (ownerId + b) % USERS + 1;
+                    Status status = statuses[b % statuses.length];
+                    bookings.add(new Object[]{bookingId, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(36)),
+                            itemId, bookerId, status.name()});
+                    if (status == Status.APPROVED) {
+                        approvedBookings.add(new ItemShortBookingDto(itemId, bookingId, bookerId, start,
+                                start.plusHours(36)));
+                    }
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate("insert into users (id, name, email) values (?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("insert into items (id, name, description, is_available, owner_id) "
+                + "values (?, ?, ?, ?, ?)", items);
+        jdbcTemplate.batchUpdate("insert into comments (id, text, created_date, item_id, author_id) values (?, ?, ?, ?, ?)",
+                comments);
+        jdbcTemplate.batchUpdate("insert into bookings (id, start_date, end_date, item_id, booker_id, status) "
+                + "values (?, ?, ?, ?, ?, ?)", bookings);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status ->
+                context.getBean(ItemAvailabilityCalendar.class).markBusy(approvedBookings));
+        jdbcTemplate.execute("analyze");
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+import ru.practicum.shareit.item.dto.ItemForOwnerDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item lookups for the owner, which resolve the last and next bookings and the comments of the items,
+ * and the availability calendar of an item around the current date.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    private ItemService itemService;
+    private LocalDateTime availabilityFrom;
+    private LocalDateTime availabilityTo;
+
+    @Setup
+    public void setUp(H2ServerState server) {
+        itemService = server.getBean(ItemService.class);
+        availabilityFrom = LocalDateTime.now().minusDays(30);
+        availabilityTo = LocalDateTime.now().plusDays(30);
+    }
+
+    @Benchmark
+    public ItemForOwnerDto getItemDtoById() {
+        return itemService.getItemDtoById(H2ServerState.ITEM_ID, H2ServerState.OWNER_ID);
+    }
+
+    @Benchmark
+    public List<ItemForOwnerDto> getAllItemsOfUser() {
+        return itemService.getAllItemsOfUser(H2ServerState.OWNER_ID, 0, 10);
+    }
+
+    @Benchmark
+    public List<AvailabilitySlotDto> getItemAvailability() {
+        return itemService.getItemAvailability(H2ServerState.ITEM_ID, H2ServerState.OWNER_ID, availabilityFrom,
+                availabilityTo);
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemForOwnerDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private BookingDto bookingDto;
+    private ItemForOwnerDto itemForOwnerDto;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        String now = LocalDateTime.now().toString();
+
+        ItemDto itemDto = ItemDto.builder()
+                .id(1)
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .ownerId(1)
+                .build();
+        bookingDto = BookingDto.builder()
+                .id(1)
+                .itemId(1)
+                .itemDto(itemDto)
+                .bookerId(2)
+                .bookerDto(UserDto.builder().id(2).name("booker").email("booker@mail.ru").build())
+                .startDate(now)
+                .endDate(now)
+                .status(Status.APPROVED)
+                .build();
+
+        List<CommentDto> comments = IntStream.range(0, 5)
+                .mapToObj(i -> CommentDto.builder()
+                        .id(i)
+                        .text("Comment " + i)
+                        .authorName("author")
+                        .created(now)
+                        .build())
+                .collect(Collectors.toList());
+        ShortBookingDto shortBookingDto = ShortBookingDto.builder()
+                .id(1)
+                .bookerId(2)
+                .startDate(LocalDateTime.now().minusDays(1))
+                .endDate(LocalDateTime.now())
+                .build();
+        itemForOwnerDto = ItemForOwnerDto.builder()
+                .id(1)
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .ownerId(1)
+                .lastBooking(shortBookingDto)
+                .nextBooking(shortBookingDto)
+                .comments(comments)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeBookingDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingDto);
+    }
+
+    @Benchmark
+    public byte[] serializeItemForOwnerDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itemForOwnerDto);
+    }
+}
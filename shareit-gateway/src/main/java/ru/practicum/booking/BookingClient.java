@@ -2,54 +2,68 @@ package ru.practicum.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.client.BaseClient;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url:http://localhost:9090}") String shareitServerUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url:http://localhost:9090}") String shareitServerUrl, WebClient.Builder builder) {
         super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(shareitServerUrl + "/bookings"))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .baseUrl(shareitServerUrl + "/bookings")
                 .build()
         );
     }
 
-    public ResponseEntity<Object> add(BookingDto bookingDto, Integer userId) {
+    public Mono<ResponseEntity<byte[]>> add(BookingDto bookingDto, Integer userId) {
         return post("", userId, bookingDto);
     }
 
-    public ResponseEntity<Object> update(Integer userId, Integer bookingId, boolean approved) {
+    public Mono<ResponseEntity<byte[]>> addAll(BookingBatchDto bookingBatchDto, Integer userId) {
+        return post("/batch", userId, bookingBatchDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> update(Integer userId, Integer bookingId, boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, userId, null);
     }
 
-    public ResponseEntity<Object> getById(Integer userId, Integer bookingId) {
+    public Mono<ResponseEntity<byte[]>> updateAll(Integer userId, BookingDecisionDto bookingDecisionDto, boolean approved) {
+        return patch("/batch?approved=" + approved, userId, bookingDecisionDto);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getById(Integer userId, Integer bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllByBookerId(Integer userId, String state, Integer from, Integer size) {
-        Map<String, Object> params = Map.of(
-                "state", state,
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, params);
+    public Mono<ResponseEntity<byte[]>> getAllByBookerId(Integer userId, String state, Integer from, Integer size, String cursor) {
+        return get(pagedQuery(cursor), userId, pagedParams(state, from, size, cursor));
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAllByOwnerId(Integer userId, String state, Integer from, Integer size, String cursor) {
+        return get("/owner" + pagedQuery(cursor), userId, pagedParams(state, from, size, cursor));
     }
 
-    public ResponseEntity<Object> getAllByOwnerId(Integer userId, String state, Integer from, Integer size) {
-        Map<String, Object> params = Map.of(
+    private String pagedQuery(String cursor) {
+        String query = "?state={state}&from={from}&size={size}";
+        return cursor == null ? query : query + "&cursor={cursor}";
+    }
+
+    private Map<String, Object> pagedParams(String state, Integer from, Integer size, String cursor) {
+        Map<String, Object> params = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("/owner" + "?state={state}&from={from}&size={size}", userId, params);
+        ));
+        if (cursor != null) {
+            params.put("cursor", cursor);
+        }
+        return params;
     }
 }
@@ -3,6 +3,7 @@ package ru.practicum.booking;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 
@@ -17,36 +18,51 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@Valid @RequestBody BookingDto bookingDto, @RequestHeader("X-Sharer-User-Id") Integer userId) {
+    public Mono<ResponseEntity<byte[]>> createBooking(@Valid @RequestBody BookingDto bookingDto, @RequestHeader("X-Sharer-User-Id") Integer userId) {
         return bookingClient.add(bookingDto, userId);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<byte[]>> createBookings(@Valid @RequestBody BookingBatchDto bookingBatchDto,
+                                                       @RequestHeader("X-Sharer-User-Id") Integer userId) {
+        return bookingClient.addAll(bookingBatchDto, userId);
+    }
+
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<byte[]>> updateBookings(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                       @Valid @RequestBody BookingDecisionDto bookingDecisionDto,
+                                                       @RequestParam boolean approved) {
+        return bookingClient.updateAll(userId, bookingDecisionDto, approved);
+    }
+
     @PatchMapping("{bookingId}")
-    public ResponseEntity<Object> updateBooking(@RequestHeader("X-Sharer-User-Id") Integer userId,
-                                                @PathVariable Integer bookingId,
-                                                @RequestParam boolean approved) {
+    public Mono<ResponseEntity<byte[]>> updateBooking(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                      @PathVariable Integer bookingId,
+                                                      @RequestParam boolean approved) {
         return bookingClient.update(userId, bookingId, approved);
     }
 
     @GetMapping("{bookingId}")
-    public ResponseEntity<Object> getBookingById(@PathVariable Integer bookingId, @RequestHeader("X-Sharer-User-Id") Integer userId) {
+    public Mono<ResponseEntity<byte[]>> getBookingById(@PathVariable Integer bookingId, @RequestHeader("X-Sharer-User-Id") Integer userId) {
         return bookingClient.getById(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsByBookerId(@RequestParam(required = false, defaultValue = "ALL") String state,
-                                                        @RequestHeader("X-Sharer-User-Id") Integer userId,
-                                                        @RequestParam(required = false, defaultValue = "0") Integer from,
-                                                        @RequestParam(required = false, defaultValue = "10") Integer size) {
-        return bookingClient.getAllByBookerId(userId, state, from, size);
+    public Mono<ResponseEntity<byte[]>> getBookingsByBookerId(@RequestParam(required = false, defaultValue = "ALL") String state,
+                                                              @RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                              @RequestParam(required = false, defaultValue = "0") Integer from,
+                                                              @RequestParam(required = false, defaultValue = "10") Integer size,
+                                                              @RequestParam(required = false) String cursor) {
+        return bookingClient.getAllByBookerId(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsByItemOwner(@RequestParam(required = false, defaultValue = "ALL") String state,
-                                                         @RequestHeader("X-Sharer-User-Id") Integer userId,
-                                                         @RequestParam(required = false, defaultValue = "0") Integer from,
-                                                         @RequestParam(required = false, defaultValue = "10") Integer size) {
-        return bookingClient.getAllByOwnerId(userId, state, from, size);
+    public Mono<ResponseEntity<byte[]>> getBookingsByItemOwner(@RequestParam(required = false, defaultValue = "ALL") String state,
+                                                               @RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                               @RequestParam(required = false, defaultValue = "0") Integer from,
+                                                               @RequestParam(required = false, defaultValue = "10") Integer size,
+                                                               @RequestParam(required = false) String cursor) {
+        return bookingClient.getAllByOwnerId(userId, state, from, size, cursor);
 
     }
 
@@ -0,0 +1,20 @@
+package ru.practicum.booking;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@Builder
+@Jacksonized
+public class BookingDecisionDto {
+
+    @NotEmpty
+    @Size(max = 100)
+    private List<@NotNull Integer> bookingIds;
+}
@@ -0,0 +1,34 @@
+package ru.practicum.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection settings shared by all clients of the ShareIt server.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit-server.client")
+public class ServerClientProperties {
+
+    /**
+     * Maximum number of connections to the server. The gateway talks to a single server,
+     * so this is both the total and the per-route limit.
+     */
+    private int maxConnections = 200;
+    /**
+     * Maximum number of requests waiting for a connection once all connections are leased.
+     */
+    private int maxPendingAcquires = 1000;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+    /**
+     * Idle connections are closed after this time, before the server drops them itself.
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    private Duration evictionInterval = Duration.ofSeconds(10);
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private boolean keepAlive = true;
+}
@@ -1,35 +1,35 @@
 package ru.practicum.item;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.client.BaseClient;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
 
-    public ItemClient(@Value("${shareit-server.url:http://localhost:9090}") String shareitSeverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url:http://localhost:9090}") String shareitSeverUrl, WebClient.Builder builder) {
         super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(shareitSeverUrl + "/items"))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .baseUrl(shareitSeverUrl + "/items")
                 .build()
         );
     }
 
-    public ResponseEntity<Object> add(ItemDto itemDto, Integer userId) {
+    public Mono<ResponseEntity<byte[]>> add(ItemDto itemDto, Integer userId) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> update(Integer userId, ItemDto itemDto, Integer itemId) {
+    public Mono<ResponseEntity<byte[]>> update(Integer userId, ItemDto itemDto, Integer itemId) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getAll(Integer userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<byte[]>> getAll(Integer userId, Integer from, Integer size) {
         Map<String, Object> params = Map.of(
                 "from", from,
                 "size", size
@@ -37,11 +37,11 @@ public class ItemClient extends BaseClient {
         return get("", userId, params);
     }
 
-    public ResponseEntity<Object> getById(Integer userId, Integer itemId) {
+    public Mono<ResponseEntity<byte[]>> getById(Integer userId, Integer itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> search(Integer userId, String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<byte[]>> search(Integer userId, String text, Integer from, Integer size) {
         Map<String, Object> params = Map.of(
                 "text", text,
                 "from", from,
@@ -50,7 +50,15 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, params);
     }
 
-    public ResponseEntity<Object> addComment(Integer itemId, CommentDto commentDto, Integer userId) {
+    public Mono<ResponseEntity<byte[]>> addComment(Integer itemId, CommentDto commentDto, Integer userId) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
+
+    public Mono<ResponseEntity<byte[]>> getAvailability(Integer userId, Integer itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> params = Map.of(
+                "from", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(from),
+                "to", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(to)
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, params);
+    }
 }
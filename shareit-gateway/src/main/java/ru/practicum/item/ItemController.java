@@ -1,10 +1,16 @@
 package ru.practicum.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
+import java.time.Duration;
+import java.time.LocalDateTime;
 
 /**
  * TODO Sprint add-controllers.
@@ -14,41 +20,58 @@ import javax.validation.Valid;
 @RequiredArgsConstructor
 public class ItemController {
 
+    private static final Duration MAX_AVAILABILITY_WINDOW = Duration.ofDays(366);
+
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> addItem(@RequestHeader("X-Sharer-User-Id") Integer userId, @Valid @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<byte[]>> addItem(@RequestHeader("X-Sharer-User-Id") Integer userId, @Valid @RequestBody ItemDto itemDto) {
         return itemClient.add(itemDto, userId);
     }
 
     @PatchMapping("{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") Integer userId, @RequestBody ItemDto itemDto, @PathVariable Integer itemId) {
+    public Mono<ResponseEntity<byte[]>> updateItem(@RequestHeader("X-Sharer-User-Id") Integer userId, @RequestBody ItemDto itemDto, @PathVariable Integer itemId) {
         return itemClient.update(userId, itemDto, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItems(@RequestHeader("X-Sharer-User-Id") Integer userId,
-                                              @RequestParam(required = false, defaultValue = "0") Integer from,
-                                              @RequestParam(required = false, defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<byte[]>> getAllItems(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                    @RequestParam(required = false, defaultValue = "0") Integer from,
+                                                    @RequestParam(required = false, defaultValue = "10") Integer size) {
         return itemClient.getAll(userId, from, size);
     }
 
     @GetMapping("{itemId}")
-    public ResponseEntity<Object> getItemById(@RequestHeader("X-Sharer-User-Id") Integer userId, @PathVariable Integer itemId) {
+    public Mono<ResponseEntity<byte[]>> getItemById(@RequestHeader("X-Sharer-User-Id") Integer userId, @PathVariable Integer itemId) {
         return itemClient.getById(userId, itemId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItem(@RequestHeader("X-Sharer-User-Id") Integer userId, @RequestParam String text,
-                                             @RequestParam(required = false, defaultValue = "0") Integer from,
-                                             @RequestParam(required = false, defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<byte[]>> searchItem(@RequestHeader("X-Sharer-User-Id") Integer userId, @RequestParam String text,
+                                                   @RequestParam(required = false, defaultValue = "0") Integer from,
+                                                   @RequestParam(required = false, defaultValue = "10") Integer size) {
         return itemClient.search(userId, text, from, size);
     }
 
     @PostMapping("{itemId}/comment")
-    public ResponseEntity<Object> addComment(@PathVariable Integer itemId, @Valid @RequestBody CommentDto commentDto,
-                                             @RequestHeader("X-Sharer-User-Id") Integer userId) {
+    public Mono<ResponseEntity<byte[]>> addComment(@PathVariable Integer itemId, @Valid @RequestBody CommentDto commentDto,
+                                                   @RequestHeader("X-Sharer-User-Id") Integer userId) {
         return itemClient.addComment(itemId, commentDto, userId);
     }
 
+    @GetMapping("{itemId}/availability")
+    public Mono<ResponseEntity<byte[]>> getItemAvailability(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                            @PathVariable Integer itemId,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Param to must be after param from");
+        }
+        if (Duration.between(from, to).compareTo(MAX_AVAILABILITY_WINDOW) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "The availability window must not be longer than " + MAX_AVAILABILITY_WINDOW.toDays() + " days");
+        }
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
 }
@@ -3,6 +3,7 @@ package ru.practicum.request;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 
@@ -17,26 +18,27 @@ public class ItemRequestController {
     private final RequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> postRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
-                                              @RequestHeader("X-Sharer-User-Id") Integer userId) {
+    public Mono<ResponseEntity<byte[]>> postRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
+                                                    @RequestHeader("X-Sharer-User-Id") Integer userId) {
         return requestClient.add(itemRequestDto, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getRequestsByOwner(@RequestHeader("X-Sharer-User-Id") Integer userId) {
+    public Mono<ResponseEntity<byte[]>> getRequestsByOwner(@RequestHeader("X-Sharer-User-Id") Integer userId) {
         return requestClient.getRequestsByOwner(userId);
     }
 
     @GetMapping("{requestId}")
-    public ResponseEntity<Object> getRequestById(@RequestHeader("X-Sharer-User-Id") Integer userId,
-                                                 @PathVariable Integer requestId) {
+    public Mono<ResponseEntity<byte[]>> getRequestById(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                       @PathVariable Integer requestId) {
         return requestClient.getRequestById(userId, requestId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getPageableRequests(@RequestHeader("X-Sharer-User-Id") Integer userId,
-                                                      @RequestParam(required = false, defaultValue = "0") Integer from,
-                                                      @RequestParam(required = false, defaultValue = "10") Integer size) {
-        return requestClient.getPageableRequests(userId, from, size);
+    public Mono<ResponseEntity<byte[]>> getPageableRequests(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                            @RequestParam(required = false, defaultValue = "0") Integer from,
+                                                            @RequestParam(required = false, defaultValue = "10") Integer size,
+                                                            @RequestParam(required = false) String cursor) {
+        return requestClient.getPageableRequests(userId, from, size, cursor);
     }
 }
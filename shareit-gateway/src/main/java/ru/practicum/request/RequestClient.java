@@ -2,44 +2,47 @@ package ru.practicum.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.client.BaseClient;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class RequestClient extends BaseClient {
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url:http://localhost:9090}") String shareitServerUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url:http://localhost:9090}") String shareitServerUrl, WebClient.Builder builder) {
         super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(shareitServerUrl + "/requests"))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .baseUrl(shareitServerUrl + "/requests")
                 .build()
         );
     }
 
-    public ResponseEntity<Object> add(ItemRequestDto itemRequestDto, Integer userId) {
+    public Mono<ResponseEntity<byte[]>> add(ItemRequestDto itemRequestDto, Integer userId) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getRequestsByOwner(Integer userId) {
+    public Mono<ResponseEntity<byte[]>> getRequestsByOwner(Integer userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getRequestById(Integer userId, Integer requestId) {
+    public Mono<ResponseEntity<byte[]>> getRequestById(Integer userId, Integer requestId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getPageableRequests(Integer userId, Integer from, Integer size) {
-        Map<String, Object> params = Map.of(
+    public Mono<ResponseEntity<byte[]>> getPageableRequests(Integer userId, Integer from, Integer size, String cursor) {
+        Map<String, Object> params = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("/all" + "?from={from}&size={size}", userId, params);
+        ));
+        if (cursor == null) {
+            return get("/all" + "?from={from}&size={size}", userId, params);
+        }
+        params.put("cursor", cursor);
+        return get("/all" + "?from={from}&size={size}&cursor={cursor}", userId, params);
     }
 }
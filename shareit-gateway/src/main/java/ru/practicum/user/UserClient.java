@@ -2,42 +2,40 @@ package ru.practicum.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.client.BaseClient;
 
 @Service
 public class UserClient extends BaseClient {
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url:http://localhost:9090}") String shareitServerUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url:http://localhost:9090}") String shareitServerUrl, WebClient.Builder builder) {
         super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(shareitServerUrl + "/users"))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .baseUrl(shareitServerUrl + "/users")
                 .build()
         );
     }
 
-    public ResponseEntity<Object> add(User user) {
+    public Mono<ResponseEntity<byte[]>> add(User user) {
         return post("", user);
     }
 
-    public ResponseEntity<Object> update(User user, Integer userId) {
+    public Mono<ResponseEntity<byte[]>> update(User user, Integer userId) {
         return patch("/" + userId, user);
     }
 
-    public ResponseEntity<Object> delete(Integer userId) {
+    public Mono<ResponseEntity<byte[]>> delete(Integer userId) {
         return delete("/" + userId);
     }
 
-    public ResponseEntity<Object> getById(Integer userId) {
+    public Mono<ResponseEntity<byte[]>> getById(Integer userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<byte[]>> getAll() {
         return get("");
     }
 }
@@ -3,6 +3,7 @@ package ru.practicum.user;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 
@@ -17,28 +18,28 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> addUser(@RequestBody @Valid User user) {
+    public Mono<ResponseEntity<byte[]>> addUser(@RequestBody @Valid User user) {
         return userClient.add(user);
     }
 
     @PatchMapping("{id}")
-    public ResponseEntity<Object> updateUser(@RequestBody User user, @PathVariable Integer id) {
+    public Mono<ResponseEntity<byte[]>> updateUser(@RequestBody User user, @PathVariable Integer id) {
         return userClient.update(user, id);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<byte[]>> getAllUsers() {
         return userClient.getAll();
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<Object> getUserById(@PathVariable Integer id) {
+    public Mono<ResponseEntity<byte[]>> getUserById(@PathVariable Integer id) {
         return userClient.getById(id);
     }
 
     @DeleteMapping("{id}")
-    public ResponseEntity<Object> deleteUserById(@PathVariable Integer id) {
-        userClient.delete(id);
-        return ResponseEntity.ok(id);
+    public Mono<ResponseEntity<Integer>> deleteUserById(@PathVariable Integer id) {
+        return userClient.delete(id)
+                .thenReturn(ResponseEntity.ok(id));
     }
 }
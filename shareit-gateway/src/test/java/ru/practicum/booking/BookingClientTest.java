@@ -0,0 +1,97 @@
+package ru.practicum.booking;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingClientTest {
+
+    private MockWebServer server;
+    private BookingClient bookingClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        String url = server.url("").toString();
+        bookingClient = new BookingClient(url.substring(0, url.length() - 1), WebClient.builder());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void requestIsSentWithoutBlockingTheCaller() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody("{\"id\":1}")
+                .setHeadersDelay(300, TimeUnit.MILLISECONDS));
+
+        CompletableFuture<ResponseEntity<byte[]>> response = bookingClient.getById(1, 1).toFuture();
+
+        assertFalse(response.isDone());
+        assertEquals(200, response.get(5, TimeUnit.SECONDS).getStatusCodeValue());
+        RecordedRequest request = server.takeRequest(1, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertEquals("GET", request.getMethod());
+        assertEquals("/bookings/1", request.getPath());
+        assertEquals("1", request.getHeader("X-Sharer-User-Id"));
+    }
+
+    @Test
+    void getAllByOwnerIdSendsStatePagingAndCursor() throws InterruptedException {
+        server.enqueue(new MockResponse().setResponseCode(200));
+        server.enqueue(new MockResponse().setResponseCode(200));
+
+        bookingClient.getAllByOwnerId(2, "PAST", 0, 20, "MjAyNi0wMS0wMVQxMDowMHwxMA").block();
+        bookingClient.getAllByOwnerId(2, "ALL", 10, 5, null).block();
+
+        assertEquals("/bookings/owner?state=PAST&from=0&size=20&cursor=MjAyNi0wMS0wMVQxMDowMHwxMA",
+                server.takeRequest(1, TimeUnit.SECONDS).getPath());
+        assertEquals("/bookings/owner?state=ALL&from=10&size=5", server.takeRequest(1, TimeUnit.SECONDS).getPath());
+    }
+
+    @Test
+    void updateAllSendsDecisionAsJsonBody() throws InterruptedException {
+        server.enqueue(new MockResponse().setResponseCode(200));
+
+        bookingClient.updateAll(3, BookingDecisionDto.builder().bookingIds(List.of(1, 2)).build(), true).block();
+
+        RecordedRequest request = server.takeRequest(1, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertEquals("PATCH", request.getMethod());
+        assertEquals("/bookings/batch?approved=true", request.getPath());
+        assertEquals("3", request.getHeader("X-Sharer-User-Id"));
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, request.getHeader(HttpHeaders.CONTENT_TYPE));
+        assertEquals("{\"bookingIds\":[1,2]}", request.getBody().readUtf8());
+    }
+
+    @Test
+    void updateSendsNoBody() throws InterruptedException {
+        server.enqueue(new MockResponse().setResponseCode(200));
+
+        bookingClient.update(3, 7, false).block();
+
+        RecordedRequest request = server.takeRequest(1, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertEquals("PATCH", request.getMethod());
+        assertEquals("/bookings/7?approved=false", request.getPath());
+        assertEquals(0, request.getBodySize());
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = BookingController.class)
+class BookingControllerTest {
+
+    private static final String BOOKING = "{\"itemId\":1,\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-02T10:00:00\"}";
+
+    @MockBean
+    private BookingClient bookingClient;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void createBookingPassesServerResponseThrough() throws Exception {
+        byte[] body = "{\"id\":1,\"status\":\"WAITING\"}".getBytes(StandardCharsets.UTF_8);
+        when(bookingClient.add(any(BookingDto.class), eq(1))).thenReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)));
+
+        MvcResult result = mvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .content(BOOKING))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    void createBookingPassesServerErrorThrough() throws Exception {
+        byte[] body = "{\"error\":\"The item with id 1 is not found\"}".getBytes(StandardCharsets.UTF_8);
+        when(bookingClient.add(any(BookingDto.class), eq(1))).thenReturn(Mono.just(ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)));
+
+        MvcResult result = mvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .content(BOOKING))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    void createBookingReturns400WhenItemIdIsMissing() throws Exception {
+        mvc.perform(post("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .content("{\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-02T10:00:00\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).add(any(), anyInt());
+    }
+
+    @Test
+    void createBookingsReturns400WhenBatchIsEmpty() throws Exception {
+        mvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .content("{\"bookings\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).addAll(any(), anyInt());
+    }
+
+    @Test
+    void updateBookingsPassesDecisionToServer() throws Exception {
+        when(bookingClient.updateAll(eq(1), any(BookingDecisionDto.class), eq(true)))
+                .thenReturn(Mono.just(ResponseEntity.ok(new byte[0])));
+
+        MvcResult result = mvc.perform(patch("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("approved", "true")
+                        .content("{\"bookingIds\":[1,2]}"))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        verify(bookingClient).updateAll(eq(1), eq(BookingDecisionDto.builder()
+                .bookingIds(List.of(1, 2))
+                .build()), eq(true));
+    }
+
+    @Test
+    void getBookingsByOwnerPassesCursorThrough() throws Exception {
+        when(bookingClient.getAllByOwnerId(1, "WAITING", 0, 10, "abc")).thenReturn(Mono.just(ResponseEntity.ok()
+                .header("X-Next-Cursor", "def")
+                .body("[]".getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "WAITING")
+                        .param("cursor", "abc"))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(content().string("[]"));
+    }
+}
@@ -0,0 +1,167 @@
+package ru.practicum.client;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaseClientTest {
+
+    private MockWebServer server;
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new TestClient(WebClient.create(server.url("/items").toString()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {200, 201, 400, 404, 409})
+    void prepareGatewayResponsePassesStatusBodyAndEndToEndHeadersThrough(int status) {
+        String body = "{\"id\":1,\"name\":\"Дрель\"}";
+        server.enqueue(new MockResponse()
+                .setResponseCode(status)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setHeader("X-Next-Cursor", "MjAyNi0wMS0wMVQxMDowMHwxMA")
+                .setHeader(HttpHeaders.CONNECTION, "keep-alive")
+                .setHeader("Keep-Alive", "timeout=60")
+                .setHeader(HttpHeaders.SET_COOKIE, "JSESSIONID=1")
+                .setChunkedBody(body, 8));
+
+        ResponseEntity<byte[]> response = client.getPage(1).block();
+
+        assertNotNull(response);
+        assertEquals(status, response.getStatusCodeValue());
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("MjAyNi0wMS0wMVQxMDowMHwxMA", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        assertFalse(response.getHeaders().containsKey("Keep-Alive"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+        assertEquals("JSESSIONID=1", response.getHeaders().getFirst(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void prepareGatewayResponseKeepsLocationCachingAndLengthButDropsConnectionHeaders() {
+        server.enqueue(new MockResponse()
+                .setResponseCode(201)
+                .setHeader(HttpHeaders.LOCATION, "/items/1")
+                .setHeader(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .setHeader(HttpHeaders.ETAG, "\"1\"")
+                .setHeader(HttpHeaders.CONNECTION, "X-Trace-Hop")
+                .setHeader("X-Trace-Hop", "1")
+                .setHeader(HttpHeaders.UPGRADE, "h2c")
+                .setBody("{}"));
+
+        ResponseEntity<byte[]> response = client.getPage(1).block();
+
+        assertNotNull(response);
+        assertEquals(201, response.getStatusCodeValue());
+        assertEquals("/items/1", response.getHeaders().getFirst(HttpHeaders.LOCATION));
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+        assertEquals("\"1\"", response.getHeaders().getETag());
+        assertEquals(2, response.getHeaders().getContentLength());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+        assertFalse(response.getHeaders().containsKey("X-Trace-Hop"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.UPGRADE));
+    }
+
+    @Test
+    void prepareGatewayResponseAnswersBadGatewayWhenBodyExceedsBufferLimit() {
+        TestClient limitedClient = new TestClient(WebClient.builder()
+                .baseUrl(server.url("/items").toString())
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16))
+                .build());
+        server.enqueue(new MockResponse()
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setHeader("X-Next-Cursor", "MjAyNi0wMS0wMVQxMDowMHwxMA")
+                .setBody("[{\"id\":1},{\"id\":2},{\"id\":3}]"));
+
+        ResponseEntity<byte[]> response = limitedClient.getPage(1).block();
+
+        assertNotNull(response);
+        assertEquals(502, response.getStatusCodeValue());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertFalse(response.getHeaders().containsKey("X-Next-Cursor"));
+        assertTrue(new String(response.getBody(), StandardCharsets.UTF_8).contains("spring.codec.max-in-memory-size"));
+    }
+
+    @Test
+    void prepareGatewayResponseKeepsEmptyBody() {
+        server.enqueue(new MockResponse().setResponseCode(200));
+
+        ResponseEntity<byte[]> response = client.getPage(1).block();
+
+        assertNotNull(response);
+        assertEquals(200, response.getStatusCodeValue());
+        assertNull(response.getBody());
+        assertEquals(0, response.getHeaders().getContentLength());
+        assertNull(response.getHeaders().getContentType());
+    }
+
+    @Test
+    void requestCarriesUserIdAndExpandedParameters() throws InterruptedException {
+        server.enqueue(new MockResponse().setResponseCode(200));
+
+        client.getPage(7).block();
+
+        RecordedRequest request = server.takeRequest(1, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertEquals("GET", request.getMethod());
+        assertEquals("/items?from=0&size=10", request.getPath());
+        assertEquals("7", request.getHeader("X-Sharer-User-Id"));
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, request.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    void requestWithoutUserIdHasNoUserHeader() throws InterruptedException {
+        server.enqueue(new MockResponse().setResponseCode(201));
+
+        client.create(Map.of("name", "Drill")).block();
+
+        RecordedRequest request = server.takeRequest(1, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertEquals("POST", request.getMethod());
+        assertNull(request.getHeader("X-Sharer-User-Id"));
+        assertEquals("{\"name\":\"Drill\"}", request.getBody().readUtf8());
+    }
+
+    private static class TestClient extends BaseClient {
+
+        TestClient(WebClient webClient) {
+            super(webClient);
+        }
+
+        Mono<ResponseEntity<byte[]>> getPage(Integer userId) {
+            return get("?from={from}&size={size}", userId, Map.of("from", 0, "size", 10));
+        }
+
+        Mono<ResponseEntity<byte[]>> create(Map<String, Object> body) {
+            return post("", body);
+        }
+    }
+}
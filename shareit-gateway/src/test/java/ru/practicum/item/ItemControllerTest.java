@@ -0,0 +1,136 @@
+package ru.practicum.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemController.class)
+class ItemControllerTest {
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void addItemReturns400WhenNameIsMissing() throws Exception {
+        mvc.perform(post("/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .content("{\"description\":\"Drill\",\"available\":true}"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).add(any(), anyInt());
+    }
+
+    @Test
+    void getAllItemsPassesPageToServer() throws Exception {
+        byte[] body = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        when(itemClient.getAll(1, 20, 5)).thenReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)));
+
+        MvcResult result = mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "20")
+                        .param("size", "5"))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    void searchItemUsesDefaultPage() throws Exception {
+        when(itemClient.search(1, "drill", 0, 10)).thenReturn(Mono.just(ResponseEntity.ok()
+                .body("[]".getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("text", "drill"))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[]"));
+    }
+
+    @Test
+    void getItemByIdReturns400WithoutUserId() throws Exception {
+        mvc.perform(get("/items/{itemId}", 1))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getById(anyInt(), anyInt());
+    }
+
+
+    @Test
+    void getItemAvailabilityPassesIsoDatesToServer() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(itemClient.getAvailability(1, 1, from, from.plusDays(1))).thenReturn(Mono.just(ResponseEntity.ok()
+                .body("[]".getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mvc.perform(get("/items/{itemId}/availability", 1)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-02T00:00:00"))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[]"));
+    }
+
+    @Test
+    void getItemAvailabilityReturns400WhenToIsNotAfterFrom() throws Exception {
+        mvc.perform(get("/items/{itemId}/availability", 1)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "2030-01-02T00:00:00")
+                        .param("to", "2030-01-02T00:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getAvailability(anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void getItemAvailabilityReturns400WhenWindowIsTooLong() throws Exception {
+        mvc.perform(get("/items/{itemId}/availability", 1)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2031-01-03T00:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getAvailability(anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void getItemAvailabilityReturns400WhenDateIsNotIsoDateTime() throws Exception {
+        mvc.perform(get("/items/{itemId}/availability", 1)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "tomorrow")
+                        .param("to", "2030-01-02T00:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getAvailability(anyInt(), anyInt(), any(), any());
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemRequestController.class)
+class ItemRequestControllerTest {
+
+    @MockBean
+    private RequestClient requestClient;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void postRequestReturns400WhenDescriptionIsMissing() throws Exception {
+        mvc.perform(post("/requests")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(requestClient, never()).add(any(), anyInt());
+    }
+
+    @Test
+    void getPageableRequestsPassesCursorThrough() throws Exception {
+        when(requestClient.getPageableRequests(1, 0, 10, "abc")).thenReturn(Mono.just(ResponseEntity.ok()
+                .header("X-Next-Cursor", "def")
+                .body("[]".getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("cursor", "abc"))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(content().string("[]"));
+    }
+
+    @Test
+    void getRequestByIdPassesServerErrorThrough() throws Exception {
+        when(requestClient.getRequestById(1, 99)).thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body("{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8))));
+
+        MvcResult result = mvc.perform(get("/requests/{requestId}", 99)
+                        .header("X-Sharer-User-Id", 1))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("{\"error\":\"not found\"}"));
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = UserController.class)
+class UserControllerTest {
+
+    @MockBean
+    private UserClient userClient;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void addUserPassesServerResponseThrough() throws Exception {
+        byte[] body = "{\"id\":1,\"name\":\"User\",\"email\":\"user@mail.ru\"}".getBytes(StandardCharsets.UTF_8);
+        when(userClient.add(any(User.class))).thenReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)));
+
+        MvcResult result = mvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"User\",\"email\":\"user@mail.ru\"}"))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    void addUserReturns400WhenEmailIsInvalid() throws Exception {
+        mvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"User\",\"email\":\"not-an-email\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(userClient, never()).add(any());
+    }
+
+    @Test
+    void deleteUserByIdReturnsId() throws Exception {
+        when(userClient.delete(1)).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        MvcResult result = mvc.perform(delete("/users/{id}", 1))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1"));
+        verify(userClient).delete(1);
+    }
+}
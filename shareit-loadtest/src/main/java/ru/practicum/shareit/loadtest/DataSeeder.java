@@ -0,0 +1,186 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Inserts users, requests, items, bookings and comments after the rows already in the database.
+ * Item owners and booked items follow Zipf distributions, so a few power owners hold most of the items
+ * and a few hot items get most of the bookings. The bookings of an item never overlap, and the approved ones
+ * are merged into the busy periods that the server serves the availability of the items from.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataSeeder {
+
+    private static final List<String> ADJECTIVES = List.of("old", "new", "electric", "compact", "folding",
+            "professional", "kids", "heavy", "portable", "vintage");
+    private static final List<String> NOUNS = List.of("drill", "bicycle", "tent", "camera", "ladder", "saw",
+            "kayak", "projector", "guitar", "scooter", "grill", "vacuum", "mixer", "telescope", "snowboard");
+    private static final String[] TABLES = {"users", "requests", "items", "bookings", "comments",
+            "item_busy_periods"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadTestProperties properties;
+
+    public Dataset seed() {
+        LoadTestProperties.Seed seed = properties.getSeed();
+        Random random = new Random(seed.getRandomSeed());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        int firstUserId = maxId("users") + 1;
+        int firstRequestId = maxId("requests") + 1;
+        int firstItemId = maxId("items") + 1;
+        int firstBookingId = maxId("bookings") + 1;
+        int firstCommentId = maxId("comments") + 1;
+        int firstBusyPeriodId = maxId("item_busy_periods") + 1;
+
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < seed.getUsers(); i++) {
+            int id = firstUserId + i;
+            users.add(new Object[]{id, "user" + id, "user" + id + "@loadtest.shareit"});
+        }
+
+        List<Object[]> requests = new ArrayList<>();
+        for (int i = 0; i < seed.getRequests(); i++) {
+            int requestorId = firstUserId + random.nextInt(seed.getUsers());
+            requests.add(new Object[]{firstRequestId + i, "Looking for a " + randomNoun(random), requestorId,
+                    timestamp(now.minusMinutes(random.nextInt(60 * 24 * 90)))});
+        }
+
+        ZipfSampler owners = new ZipfSampler(seed.getUsers(), seed.getOwnerSkew());
+        int[] itemOwners = new int[seed.getItems()];
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < seed.getItems(); i++) {
+            itemOwners[i] = firstUserId + owners.sample(random);
+            String noun = randomNoun(random);
+            Integer requestId = seed.getRequests() > 0 && random.nextDouble() < seed.getRequestedItemRatio()
+                    ? firstRequestId + random.nextInt(seed.getRequests()) : null;
+            items.add(new Object[]{firstItemId + i, ADJECTIVES.get(random.nextInt(ADJECTIVES.size())) + " " + noun,
+                    "A " + noun + " in good condition", random.nextDouble() < 0.9, itemOwners[i], requestId});
+        }
+
+        ZipfSampler bookedItems = new ZipfSampler(seed.getItems(), seed.getItemSkew());
+        int[] bookingsPerItem = new int[seed.getItems()];
+        for (int i = 0; i < seed.getBookings(); i++) {
+            bookingsPerItem[bookedItems.sample(random)]++;
+        }
+
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        List<Object[]> busyPeriods = new ArrayList<>();
+        int bookingId = firstBookingId;
+        for (int i = 0; i < seed.getItems(); i++) {
+            LocalDateTime start = now.minusDays(2L * (bookingsPerItem[i] / 2)).plusHours(random.nextInt(24));
+            LocalDateTime busyFrom = null;
+            LocalDateTime busyTo = null;
+            for (int b = 0; b < bookingsPerItem[i]; b++) {
+                LocalDateTime end = start.plusHours(1 + random.nextInt(36));
+                int bookerId = randomBooker(random, itemOwners[i], firstUserId, seed.getUsers());
+                String status = status(random, start, end, now);
+                bookings.add(new Object[]{bookingId++, timestamp(start), timestamp(end), firstItemId + i, bookerId,
+                        status});
+                if (end.isBefore(now) && "APPROVED".equals(status) && random.nextDouble() < seed.getCommentRatio()) {
+                    comments.add(new Object[]{firstCommentId + comments.size(), "Nice " + randomNoun(random),
+                            timestamp(end.plusHours(1)), firstItemId + i, bookerId});
+                }
+                if ("APPROVED".equals(status) && busyTo != null && !start.isAfter(busyTo)) {
+                    busyTo = end.isAfter(busyTo) ? end : busyTo;
+                } else if ("APPROVED".equals(status)) {
+                    if (busyTo != null) {
+                        busyPeriods.add(new Object[]{firstBusyPeriodId + busyPeriods.size(), firstItemId + i,
+                                timestamp(busyFrom), timestamp(busyTo)});
+                    }
+                    busyFrom = start;
+                    busyTo = end;
+                }
+                start = start.plusDays(2);
+            }
+            if (busyTo != null) {
+                busyPeriods.add(new Object[]{firstBusyPeriodId + busyPeriods.size(), firstItemId + i,
+                        timestamp(busyFrom), timestamp(busyTo)});
+            }
+        }
+
+        insert("insert into users (id, name, email) values (?, ?, ?)", users);
+        insert("insert into requests (id, description, requestor_id, created_date) values (?, ?, ?, ?)", requests);
+        insert("insert into items (id, name, description, is_available, owner_id, request_id) values (?, ?, ?, ?, ?, ?)",
+                items);
+        insert("insert into bookings (id, start_date, end_date, item_id, booker_id, status) values (?, ?, ?, ?, ?, ?)",
+                bookings);
+        insert("insert into comments (id, text, created_date, item_id, author_id) values (?, ?, ?, ?, ?)", comments);
+        insert("insert into item_busy_periods (id, item_id, start_date, end_date) values (?, ?, ?, ?)", busyPeriods);
+        restartIdGenerators();
+
+        log.info("Seeded {} users, {} requests, {} items, {} bookings, {} comments and {} busy periods", users.size(),
+                requests.size(), items.size(), bookings.size(), comments.size(), busyPeriods.size());
+        return new Dataset(firstUserId, firstUserId + seed.getUsers() - 1, NOUNS);
+    }
+
+    /**
+     * Describes the users already in the database, for runs that skip seeding.
+     */
+    public Dataset existing() {
+        Integer firstUserId = jdbcTemplate.queryForObject("select min(id) from users", Integer.class);
+        if (firstUserId == null) {
+            log.error("There are no users in the database, enable seeding to create them");
+            throw new IllegalStateException("There are no users in the database");
+        }
+        return new Dataset(firstUserId, maxId("users"), NOUNS);
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        int batchSize = properties.getSeed().getBatchSize();
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    private void restartIdGenerators() {
+        for (String table : TABLES) {
+            jdbcTemplate.execute("alter sequence " + table + "_seq restart with " + (maxId(table) + 1));
+        }
+    }
+
+    private int maxId(String table) {
+        Integer maxId = jdbcTemplate.queryForObject("select max(id) from " + table, Integer.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    private int randomBooker(Random random, int ownerId, int firstUserId, int users) {
+        if (users == 1) {
+            return ownerId;
+        }
+        int bookerId = firstUserId + random.nextInt(users - 1);
+        return bookerId >= ownerId ? bookerId + 1 : bookerId;
+    }
+
+    private String status(Random random, LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        double roll = random.nextDouble();
+        if (end.isBefore(now)) {
+            return roll < 0.85 ? "APPROVED" : roll < 0.95 ? "REJECTED" : "CANCELED";
+        }
+        if (start.isAfter(now)) {
+            return roll < 0.5 ? "APPROVED" : roll < 0.9 ? "WAITING" : "REJECTED";
+        }
+        return "APPROVED";
+    }
+
+    private String randomNoun(Random random) {
+        return NOUNS.get(random.nextInt(NOUNS.size()));
+    }
+
+    private Timestamp timestamp(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime);
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * The users and search words the workload picks from.
+ */
+@Value
+public class Dataset {
+    int firstUserId;
+    int lastUserId;
+    List<String> searchWords;
+
+    public int userCount() {
+        return lastUserId - firstUserId + 1;
+    }
+}
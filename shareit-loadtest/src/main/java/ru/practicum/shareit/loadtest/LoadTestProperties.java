@@ -0,0 +1,70 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+
+    private Seed seed = new Seed();
+    private Workload workload = new Workload();
+
+    @Data
+    public static class Seed {
+        private boolean enabled = true;
+        private long randomSeed = 42;
+        private int users = 1_000;
+        private int items = 5_000;
+        private int requests = 2_000;
+        private int bookings = 50_000;
+        /**
+         * Share of past bookings that get a comment from their booker.
+         */
+        private double commentRatio = 0.3;
+        /**
+         * Share of items created in answer to a request.
+         */
+        private double requestedItemRatio = 0.2;
+        /**
+         * Zipf exponent of the item count per owner, higher values give fewer owners with more items.
+         */
+        private double ownerSkew = 1.1;
+        /**
+         * Zipf exponent of the booking count per item, higher values give fewer items with more bookings.
+         */
+        private double itemSkew = 1.2;
+        private int batchSize = 1_000;
+    }
+
+    @Data
+    public static class Workload {
+        private boolean enabled = true;
+        private String gatewayUrl = "http://localhost:8080";
+        private Model model = Model.CLOSED;
+        /**
+         * Number of clients sending requests one after another in the closed model.
+         */
+        private int concurrency = 16;
+        /**
+         * Requests started per second in the open model, whatever the response times are.
+         */
+        private int rate = 200;
+        private Duration warmup = Duration.ofSeconds(10);
+        private Duration duration = Duration.ofSeconds(60);
+        private Duration requestTimeout = Duration.ofSeconds(10);
+        /**
+         * Relative weights of the operations in the workload.
+         */
+        private Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    }
+
+    public enum Model {
+        CLOSED,
+        OPEN
+    }
+}
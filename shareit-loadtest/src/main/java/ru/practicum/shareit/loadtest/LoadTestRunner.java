@@ -0,0 +1,53 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoadTestRunner implements CommandLineRunner {
+
+    private static final String ROW_FORMAT = "%-20s %10s %8s %12s %10s %10s %10s %10s%n";
+
+    private final LoadTestProperties properties;
+    private final DataSeeder dataSeeder;
+    private final WorkloadDriver workloadDriver;
+
+    @Override
+    public void run(String... args) throws InterruptedException {
+        Dataset dataset = properties.getSeed().isEnabled() ? dataSeeder.seed() : dataSeeder.existing();
+        if (properties.getWorkload().isEnabled()) {
+            log.info("Load test report:\n{}", report(workloadDriver.run(dataset)));
+        }
+    }
+
+    private String report(WorkloadResult result) {
+        double seconds = result.getDuration().toMillis() / 1000.0;
+        StringBuilder report = new StringBuilder(String.format(ROW_FORMAT,
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        int total = 0;
+        for (Map.Entry<Operation, LatencyRecorder.Snapshot> entry : result.getSnapshots().entrySet()) {
+            LatencyRecorder.Snapshot snapshot = entry.getValue();
+            if (snapshot.getCount() == 0) {
+                continue;
+            }
+            total += snapshot.getCount();
+            report.append(String.format(ROW_FORMAT, entry.getKey(), snapshot.getCount(), snapshot.getErrors(),
+                    String.format("%.1f", snapshot.getCount() / seconds),
+                    millis(snapshot.percentile(50)), millis(snapshot.percentile(95)),
+                    millis(snapshot.percentile(99)), millis(snapshot.max())));
+        }
+        report.append(String.format("Total throughput: %.1f req/s", total / seconds));
+        return report.toString();
+    }
+
+    private String millis(long nanos) {
+        return String.format("%.2f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
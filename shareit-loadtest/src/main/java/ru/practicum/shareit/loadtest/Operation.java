@@ -0,0 +1,9 @@
+package ru.practicum.shareit.loadtest;
+
+public enum Operation {
+    BOOKINGS_BY_BOOKER,
+    BOOKINGS_BY_OWNER,
+    ITEMS_BY_OWNER,
+    ITEM_SEARCH,
+    REQUESTS_ALL
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.loadtest;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+@SpringBootApplication
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class ShareitLoadTest {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ShareitLoadTest.class, args);
+    }
+
+}
@@ -0,0 +1,202 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends read requests to the gateway and records their latencies once the warmup is over.
+ * <p>
+ * In the closed model a fixed number of clients send a request as soon as their previous one is answered.
+ * In the open model requests start at a fixed rate and the latency is counted from the planned start,
+ * so a slow server is not hidden by the load generator backing off.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkloadDriver {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final LoadTestProperties properties;
+
+    public WorkloadResult run(Dataset dataset) throws InterruptedException {
+        LoadTestProperties.Workload workload = properties.getWorkload();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(workload.getRequestTimeout())
+                .build();
+        RequestFactory requestFactory = new RequestFactory(dataset, workload, properties.getSeed().getOwnerSkew());
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+
+        long measureFrom = System.nanoTime() + workload.getWarmup().toNanos();
+        long measureTo = measureFrom + workload.getDuration().toNanos();
+        log.info("Running the {} workload against {} for {} after a {} warmup", workload.getModel(),
+                workload.getGatewayUrl(), workload.getDuration(), workload.getWarmup());
+
+        if (workload.getModel() == LoadTestProperties.Model.OPEN) {
+            runOpen(client, requestFactory, recorders, measureFrom, measureTo);
+        } else {
+            runClosed(client, requestFactory, recorders, measureFrom, measureTo);
+        }
+
+        Map<Operation, LatencyRecorder.Snapshot> snapshots = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> snapshots.put(operation, recorder.snapshot()));
+        return new WorkloadResult(workload.getDuration(), snapshots);
+    }
+
+    private void runClosed(HttpClient client, RequestFactory requestFactory, Map<Operation, LatencyRecorder> recorders,
+                           long measureFrom, long measureTo) throws InterruptedException {
+        int concurrency = properties.getWorkload().getConcurrency();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            executor.execute(() -> {
+                Random random = ThreadLocalRandom.current();
+                while (System.nanoTime() < measureTo) {
+                    Operation operation = requestFactory.nextOperation(random);
+                    HttpRequest request = requestFactory.create(operation, random);
+                    long startedAt = System.nanoTime();
+                    boolean success = send(client, request);
+                    if (startedAt >= measureFrom) {
+                        recorders.get(operation).record(System.nanoTime() - startedAt, success);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    private void runOpen(HttpClient client, RequestFactory requestFactory, Map<Operation, LatencyRecorder> recorders,
+                         long measureFrom, long measureTo) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / properties.getWorkload().getRate();
+        Random random = ThreadLocalRandom.current();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        for (long plannedAt = System.nanoTime(); plannedAt < measureTo; plannedAt += interval) {
+            long delay = plannedAt - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            Operation operation = requestFactory.nextOperation(random);
+            long startedAt = plannedAt;
+            inFlight.add(client.sendAsync(requestFactory.create(operation, random), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, e) -> {
+                        if (startedAt >= measureFrom) {
+                            boolean success = e == null && isSuccessful(response);
+                            recorders.get(operation).record(System.nanoTime() - startedAt, success);
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+    }
+
+    private boolean send(HttpClient client, HttpRequest request) {
+        try {
+            return isSuccessful(client.send(request, HttpResponse.BodyHandlers.discarding()));
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean isSuccessful(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    private static class RequestFactory {
+
+        private final Dataset dataset;
+        private final String gatewayUrl;
+        private final Duration timeout;
+        private final ZipfSampler owners;
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+
+        RequestFactory(Dataset dataset, LoadTestProperties.Workload workload, double ownerSkew) {
+            this.dataset = dataset;
+            this.gatewayUrl = workload.getGatewayUrl();
+            this.timeout = workload.getRequestTimeout();
+            this.owners = new ZipfSampler(dataset.userCount(), ownerSkew);
+
+            List<Operation> weighted = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int total = 0;
+            for (Map.Entry<Operation, Integer> weight : workload.getMix().entrySet()) {
+                if (weight.getValue() > 0) {
+                    total += weight.getValue();
+                    weighted.add(weight.getKey());
+                    cumulative.add(total);
+                }
+            }
+            if (weighted.isEmpty()) {
+                throw new IllegalArgumentException("The workload mix must have at least one operation with a positive weight");
+            }
+            this.operations = weighted.toArray(new Operation[0]);
+            this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        Operation nextOperation(Random random) {
+            int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int index = 0;
+            while (cumulativeWeights[index] <= roll) {
+                index++;
+            }
+            return operations[index];
+        }
+
+        HttpRequest create(Operation operation, Random random) {
+            int anyUser = dataset.getFirstUserId() + random.nextInt(dataset.userCount());
+            int owner = dataset.getFirstUserId() + owners.sample(random);
+            String state = STATES[random.nextInt(STATES.length)];
+            switch (operation) {
+                case BOOKINGS_BY_BOOKER:
+                    return get("/bookings?state=" + state + "&from=0&size=10", anyUser);
+                case BOOKINGS_BY_OWNER:
+                    return get("/bookings/owner?state=" + state + "&from=0&size=10", owner);
+                case ITEMS_BY_OWNER:
+                    return get("/items?from=0&size=10", owner);
+                case ITEM_SEARCH:
+                    List<String> words = dataset.getSearchWords();
+                    return get("/items/search?text=" + words.get(random.nextInt(words.size())) + "&from=0&size=10",
+                            anyUser);
+                case REQUESTS_ALL:
+                    return get("/requests/all?from=0&size=10", anyUser);
+                default:
+                    throw new IllegalArgumentException("Unknown operation: " + operation);
+            }
+        }
+
+        private HttpRequest get(String path, int userId) {
+            return HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+                    .header(USER_HEADER, String.valueOf(userId))
+                    .timeout(timeout)
+                    .GET()
+                    .build();
+        }
+    }
+}
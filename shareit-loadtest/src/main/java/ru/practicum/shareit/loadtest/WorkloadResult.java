@@ -0,0 +1,12 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Value
+public class WorkloadResult {
+    Duration duration;
+    Map<Operation, LatencyRecorder.Snapshot> snapshots;
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyRecorderTest {
+
+    @Test
+    void snapshotComputesNearestRankPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int latency = 2000; latency >= 1; latency--) {
+            recorder.record(latency, latency % 100 != 0);
+        }
+
+        LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+
+        assertEquals(2000, snapshot.getCount());
+        assertEquals(20, snapshot.getErrors());
+        assertEquals(1000, snapshot.percentile(50));
+        assertEquals(1900, snapshot.percentile(95));
+        assertEquals(1980, snapshot.percentile(99));
+        assertEquals(2000, snapshot.max());
+    }
+
+    @Test
+    void emptySnapshotReturnsZero() {
+        LatencyRecorder.Snapshot snapshot = new LatencyRecorder().snapshot();
+
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.percentile(99));
+        assertEquals(0, snapshot.max());
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipfSamplerTest {
+
+    @Test
+    void lowRanksArePickedMoreOften() {
+        ZipfSampler sampler = new ZipfSampler(1000, 1.2);
+        Random random = new Random(1);
+        int[] counts = new int[1000];
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        int topTen = 0;
+        for (int rank = 0; rank < 10; rank++) {
+            topTen += counts[rank];
+        }
+        assertTrue(counts[0] > counts[1] && counts[1] > counts[10]);
+        assertTrue(topTen > 50_000, "The ten first ranks got " + topTen + " samples");
+    }
+
+    @Test
+    void zeroSizeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.0));
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking;
+
+/**
+ * Outcome of a single entry of a batch booking request.
+ */
+public enum BatchResult {
+    CREATED,
+    UPDATED,
+    NOT_FOUND,
+    BAD_REQUEST,
+    CONFLICT
+}
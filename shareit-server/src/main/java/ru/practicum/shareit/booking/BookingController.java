@@ -1,8 +1,14 @@
 package ru.practicum.shareit.booking;
 
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -22,6 +28,19 @@ public class BookingController {
         return bookingService.createBooking(bookingDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createBookings(@Valid @RequestBody BookingBatchDto bookingBatchDto,
+                                                      @RequestHeader("X-Sharer-User-Id") Integer userId) {
+        return bookingService.createBookings(bookingBatchDto.getBookings(), userId);
+    }
+
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> updateBookings(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                         @Valid @RequestBody BookingDecisionDto bookingDecisionDto,
+                                                         @RequestParam boolean approved) {
+        return bookingService.updateBookings(bookingDecisionDto.getBookingIds(), approved, userId);
+    }
+
     @PatchMapping("{bookingId}")
     public BookingDto updateBooking(@RequestHeader("X-Sharer-User-Id") Integer userId,
                                     @PathVariable Integer bookingId,
@@ -35,20 +54,35 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getBookingsByBookerId(@RequestParam(required = false, defaultValue = "ALL") String state,
-                                                  @RequestHeader("X-Sharer-User-Id") Integer userId,
-                                                  @RequestParam(required = false, defaultValue = "0") Integer from,
-                                                  @RequestParam(required = false, defaultValue = "10") Integer size) {
-        return bookingService.getAllByBookerId(userId, state, from, size);
+    public ResponseEntity<List<BookingDto>> getBookingsByBookerId(@RequestParam(required = false, defaultValue = "ALL") String state,
+                                                                  @RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                                  @RequestParam(required = false, defaultValue = "0") Integer from,
+                                                                  @RequestParam(required = false, defaultValue = "10") Integer size,
+                                                                  @RequestParam(required = false) String cursor) {
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingService.getAllByBookerId(userId, state, from, size));
+        }
+        return toResponseEntity(bookingService.getAllByBookerIdAfter(userId, state, cursor, size));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getBookingsByItemOwner(@RequestParam(required = false, defaultValue = "ALL") String state,
-                                                   @RequestHeader("X-Sharer-User-Id") Integer userId,
-                                                   @RequestParam(required = false, defaultValue = "0") Integer from,
-                                                   @RequestParam(required = false, defaultValue = "10") Integer size) {
-        return bookingService.getAllByOwnerId(userId, state, from, size);
+    public ResponseEntity<List<BookingDto>> getBookingsByItemOwner(@RequestParam(required = false, defaultValue = "ALL") String state,
+                                                                   @RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                                   @RequestParam(required = false, defaultValue = "0") Integer from,
+                                                                   @RequestParam(required = false, defaultValue = "10") Integer size,
+                                                                   @RequestParam(required = false) String cursor) {
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingService.getAllByOwnerId(userId, state, from, size));
+        }
+        return toResponseEntity(bookingService.getAllByOwnerIdAfter(userId, state, cursor, size));
+    }
 
+    private ResponseEntity<List<BookingDto>> toResponseEntity(CursorPage<BookingDto> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
     }
 
 }
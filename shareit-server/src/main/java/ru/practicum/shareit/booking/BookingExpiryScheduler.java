@@ -0,0 +1,65 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves waiting bookings whose start date has passed to {@link Status#EXPIRED}, in batches of one transaction each.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "shareit.booking.expiry.enabled", havingValue = "true")
+public class BookingExpiryScheduler {
+
+    private final BookingService bookingService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter expiredBookings;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public BookingExpiryScheduler(BookingService bookingService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${shareit.booking.expiry.batch-size:500}") int batchSize,
+                                  @Value("${shareit.booking.expiry.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.bookingService = bookingService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.expiredBookings = Counter.builder("shareit.bookings.expired")
+                .description("Waiting bookings expired after their start date")
+                .register(meterRegistry);
+        Gauge.builder("shareit.bookings.expiry.lag", lagSeconds, AtomicLong::get)
+                .description("How long the oldest waiting booking past its start date has been overdue")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.expiry.interval:PT1M}",
+            initialDelayString = "${shareit.booking.expiry.interval:PT1M}")
+    public void expireWaitingBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        int batches = 0;
+        int batchExpired;
+        do {
+            batchExpired = bookingService.expireWaitingBookings(now, batchSize);
+            expiredBookings.increment(batchExpired);
+            expired += batchExpired;
+            batches++;
+        } while (batchExpired == batchSize && batches < maxBatchesPerRun);
+        // the rest is left to the next run
+
+        lagSeconds.set(bookingService.getExpiryLag(now).getSeconds());
+        if (expired > 0) {
+            log.info("Expired {} waiting bookings in {} batches, lag {} s", expired, batches, lagSeconds.get());
+        }
+    }
+}
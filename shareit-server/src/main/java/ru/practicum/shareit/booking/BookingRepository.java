@@ -3,42 +3,91 @@ package ru.practicum.shareit.booking;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingStatusDto;
+import ru.practicum.shareit.booking.dto.ItemShortBookingDto;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
+public interface BookingRepository extends JpaRepository<Booking, Integer>, BookingRepositoryCustom {
 
     @Query("select b from Booking b " +
-            "where ?2 between b.startDate and b.endDate " +
-            "and b.booker.id = ?1")
-    List<Booking> findAllByBookerIdCurrent(Integer bookerId, LocalDateTime now, Pageable pageable);
+            "where b.item.id = ?1")
+    List<Booking> findAllByItemId(Integer itemId, Sort sort);
 
-    List<Booking> findAllByBookerIdAndEndDateIsBefore(Integer bookerId, LocalDateTime endDate, Pageable pageable);
+    @Query("select new ru.practicum.shareit.booking.dto.ItemShortBookingDto(b.item.id, b.id, b.booker.id, b.startDate, b.endDate) " +
+            "from Booking b " +
+            "where b.item.id in ?1 " +
+            "and b.status = ?2 " +
+            "and b.startDate < ?4 " +
+            "and b.endDate > ?3")
+    List<ItemShortBookingDto> findOverlappingBookings(Collection<Integer> itemIds, Status status,
+                                                      LocalDateTime from, LocalDateTime to);
 
-    List<Booking> findAllByBookerIdAndStartDateIsAfter(Integer bookerId, LocalDateTime startDate, Pageable pageable);
+    @Query("select new ru.practicum.shareit.booking.dto.BookingStatusDto(b.id, i.id, i.owner.id, b.status, b.startDate, b.endDate) " +
+            "from Booking b " +
+            "join b.item i " +
+            "where b.id in ?1")
+    List<BookingStatusDto> findStatusesByIdIn(Collection<Integer> ids);
 
-    List<Booking> findAllByBookerIdAndStatus(Integer bookerId, Status status, Pageable pageable);
+    @Query("select b.id from Booking b " +
+            "where b.status = ?1 " +
+            "and b.startDate < ?2 " +
+            "order by b.startDate asc, b.id asc")
+    List<Integer> findIdsByStatusAndStartDateBefore(Status status, LocalDateTime startDate, Pageable pageable);
 
-    List<Booking> findAllByBookerId(Integer bookerId, Pageable pageable);
+    @Query("select min(b.startDate) from Booking b " +
+            "where b.status = ?1 " +
+            "and b.startDate < ?2")
+    LocalDateTime findOldestStartDate(Status status, LocalDateTime startDate);
 
-    @Query("select b from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "order by b.startDate desc ")
-    List<Booking> findAllByItemOwner(Integer ownerId, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b.id from Booking b " +
+            "where b.id in ?1 " +
+            "and b.status = ?2")
+    List<Integer> lockIdsByIdInAndStatus(Collection<Integer> ids, Status status);
 
-    @Query("select b from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and ?2 between b.startDate and b.endDate " +
-            "order by b.startDate desc ")
-    List<Booking> findAllCurrentBookingByOwnerId(Integer ownerId, LocalDateTime now, Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b " +
+            "set b.status = ?2, b.version = b.version + 1 " +
+            "where b.id = ?1 " +
+            "and b.status = ?3")
+    int updateStatus(Integer id, Status status, Status currentStatus);
 
-    List<Booking> findAllByItemOwnerIdAndEndDateIsBefore(Integer ownerId, LocalDateTime now, Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b " +
+            "set b.status = ?2, b.version = b.version + 1 " +
+            "where b.id in ?1 " +
+            "and b.status = ?3")
+    int updateStatus(Collection<Integer> ids, Status status, Status currentStatus);
 
-    List<Booking> findAllByItemOwnerIdAndStartDateIsAfter(Integer ownerId, LocalDateTime now, Pageable pageable);
+    @Query("select case when count(b) > 0 then true else false end " +
+            "from Booking b " +
+            "where b.item.id = ?1 " +
+            "and b.status = ?2 " +
+            "and b.startDate < ?3 " +
+            "and b.endDate > ?4")
+    boolean existsByItemIdAndStatusAndStartDateBeforeAndEndDateAfter(Integer itemId, Status status,
+                                                                     LocalDateTime endDate, LocalDateTime startDate);
 
-    List<Booking> findAllByItemOwnerIdAndStatus(Integer ownerId, Status status, Pageable pageable);
+    @Query("select new ru.practicum.shareit.booking.dto.ItemShortBookingDto(b.item.id, b.id, b.booker.id, b.startDate, b.endDate) " +
+            "from Booking b " +
+            "where b.item.id in ?1 " +
+            "and b.status = ?2 " +
+            "and b.startDate = (select max(lb.startDate) from Booking lb " +
+            "where lb.item.id = b.item.id and lb.status = ?2 and lb.startDate < ?3)")
+    List<ItemShortBookingDto> findLastBookings(Collection<Integer> itemIds, Status status, LocalDateTime now);
 
-    List<Booking> findAllByItemId(Integer itemId, Sort sort);
+    @Query("select new ru.practicum.shareit.booking.dto.ItemShortBookingDto(b.item.id, b.id, b.booker.id, b.startDate, b.endDate) " +
+            "from Booking b " +
+            "where b.item.id in ?1 " +
+            "and b.status = ?2 " +
+            "and b.startDate = (select min(nb.startDate) from Booking nb " +
+            "where nb.item.id = b.item.id and nb.status = ?2 and nb.startDate > ?3)")
+    List<ItemShortBookingDto> findNextBookings(Collection<Integer> itemIds, Status status, LocalDateTime now);
 }
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingListDto;
+import ru.practicum.shareit.pagination.Cursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lists the bookings of a booker or of the items of an owner in a state, latest start first. The sort of a pageable
+ * is ignored, and a null cursor starts from the latest booking.
+ */
+public interface BookingRepositoryCustom {
+
+    List<BookingListDto> findBookerBookings(Integer bookerId, State state, LocalDateTime now, Pageable pageable);
+
+    List<BookingListDto> findOwnerBookings(Integer ownerId, State state, LocalDateTime now, Pageable pageable);
+
+    List<BookingListDto> findBookerPage(Integer bookerId, State state, LocalDateTime now, Cursor cursor, int limit);
+
+    List<BookingListDto> findOwnerPage(Integer ownerId, State state, LocalDateTime now, Cursor cursor, int limit);
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingListDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    private enum Role {
+        BOOKER,
+        OWNER
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingListDto> findBookerBookings(Integer bookerId, State state, LocalDateTime now, Pageable pageable) {
+        return findBookings(Role.BOOKER, bookerId, state, now, null, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @Override
+    public List<BookingListDto> findOwnerBookings(Integer ownerId, State state, LocalDateTime now, Pageable pageable) {
+        return findBookings(Role.OWNER, ownerId, state, now, null, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @Override
+    public List<BookingListDto> findBookerPage(Integer bookerId, State state, LocalDateTime now, Cursor cursor, int limit) {
+        return findBookings(Role.BOOKER, bookerId, state, now, cursor, 0, limit);
+    }
+
+    @Override
+    public List<BookingListDto> findOwnerPage(Integer ownerId, State state, LocalDateTime now, Cursor cursor, int limit) {
+        return findBookings(Role.OWNER, ownerId, state, now, cursor, 0, limit);
+    }
+
+    private List<BookingListDto> findBookings(Role role, Integer userId, State state, LocalDateTime now,
+                                              Cursor cursor, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingListDto> query = cb.createQuery(BookingListDto.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+        Join<Booking, User> booker = booking.join("booker");
+        Path<LocalDateTime> startDate = booking.get("startDate");
+        Path<LocalDateTime> endDate = booking.get("endDate");
+        Path<Integer> bookingId = booking.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (role == Role.OWNER) {
+            predicates.add(cb.equal(item.get("owner").get("id"), userId));
+        } else {
+            predicates.add(cb.equal(booker.get("id"), userId));
+        }
+
+        switch (state) {
+            case CURRENT:
+                predicates.add(cb.lessThanOrEqualTo(startDate, now));
+                predicates.add(cb.greaterThanOrEqualTo(endDate, now));
+                break;
+            case PAST:
+                predicates.add(cb.lessThan(endDate, now));
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(startDate, now));
+                break;
+            case WAITING:
+                predicates.add(cb.equal(booking.get("status"), Status.WAITING));
+                break;
+            case REJECTED:
+                predicates.add(cb.equal(booking.get("status"), Status.REJECTED));
+                break;
+            default:
+                break;
+        }
+
+        if (cursor != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(startDate, cursor.getTimestamp()),
+                    cb.and(cb.equal(startDate, cursor.getTimestamp()), cb.lessThan(bookingId, cursor.getId()))));
+        }
+
+        // The owner and the request are read from the foreign keys of the item, without joining their tables
+        query.select(cb.construct(BookingListDto.class, bookingId, startDate, endDate, booking.get("status"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        item.get("owner").get("id"), item.get("request").get("id"),
+                        booker.get("id"), booker.get("name"), booker.get("email")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(startDate), cb.desc(bookingId));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
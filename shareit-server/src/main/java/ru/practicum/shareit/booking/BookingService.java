@@ -4,19 +4,32 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingListDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingStatusDto;
+import ru.practicum.shareit.booking.dto.ItemShortBookingDto;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.IncorrectParameterException;
+import ru.practicum.shareit.item.ItemAvailabilityCalendar;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.UserExistenceValidator;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -27,9 +40,9 @@ public class BookingService {
 
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final UserExistenceValidator userExistenceValidator;
     private final ItemRepository itemRepository;
-
-    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "startDate");
+    private final ItemAvailabilityCalendar itemAvailabilityCalendar;
 
 
     public BookingDto createBooking(BookingDto bookingDto, Integer userId) {
@@ -40,18 +53,81 @@ public class BookingService {
         validateEndAndStartDate(bookingDto);
         validateItemAvailability(item);
 
-        if (item.getOwner().getId().equals(userId)) {
-            log.error("The owner of the item cannot create booking");
-            throw new EntityNotFoundException("The owner of the item cannot create booking");
-        }
+        validateNotItemOwner(item, userId);
         Booking booking = BookingMapper.toBooking(bookingDto, item, user);
+        booking.setId(null);
+        validateNoApprovedOverlap(booking);
         booking.setStatus(Status.WAITING);
 
         return BookingMapper.toBookingDto(bookingRepository.save(booking));
     }
 
+    /**
+     * Creates the bookings of one booker in one transaction, an invalid entry fails alone.
+     *
+     * @return one result per entry, in the order of {@code bookingDtos}
+     */
+    @Transactional
+    public List<BookingBatchResultDto> createBookings(List<BookingDto> bookingDtos, Integer userId) {
+        User user = getUserById(userId);
+        Map<Integer, Item> items = itemRepository.findAllByIdIn(bookingDtos.stream()
+                        .map(BookingDto::getItemId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<BookingBatchResultDto> results = new ArrayList<>(Collections.nCopies(bookingDtos.size(), null));
+        Map<Integer, Booking> bookings = new LinkedHashMap<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDto bookingDto = bookingDtos.get(i);
+            try {
+                Item item = Optional.ofNullable(items.get(bookingDto.getItemId()))
+                        .orElseThrow(() -> itemNotFound(bookingDto.getItemId()));
+                bookingDto.setBookerId(userId);
+                validateEndAndStartDate(bookingDto);
+                validateItemAvailability(item);
+                validateNotItemOwner(item, userId);
+                Booking booking = BookingMapper.toBooking(bookingDto, item, user);
+                booking.setId(null);
+                bookings.put(i, booking);
+            } catch (EntityNotFoundException e) {
+                results.set(i, failedResult(BatchResult.NOT_FOUND, e));
+            } catch (IncorrectParameterException | DateTimeParseException e) {
+                results.set(i, failedResult(BatchResult.BAD_REQUEST, e));
+            }
+        }
+
+        Map<Integer, List<ItemShortBookingDto>> approvedBookings = findApprovedBookings(
+                bookings.values().stream().map(booking -> booking.getItem().getId()).collect(Collectors.toSet()),
+                bookings.values().stream().map(Booking::getStartDate).min(Comparator.naturalOrder()).orElse(null),
+                bookings.values().stream().map(Booking::getEndDate).max(Comparator.naturalOrder()).orElse(null));
+        Iterator<Map.Entry<Integer, Booking>> iterator = bookings.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Booking> entry = iterator.next();
+            Booking booking = entry.getValue();
+            try {
+                validateNoApprovedOverlap(booking.getItem().getId(), booking.getStartDate(), booking.getEndDate(),
+                        approvedBookings.getOrDefault(booking.getItem().getId(), Collections.emptyList()));
+                booking.setStatus(Status.WAITING);
+            } catch (ConflictException e) {
+                results.set(entry.getKey(), failedResult(BatchResult.CONFLICT, e));
+                iterator.remove();
+            }
+        }
+
+        bookingRepository.saveAll(bookings.values());
+        bookings.forEach((index, booking) -> results.set(index, BookingBatchResultDto.builder()
+                .result(BatchResult.CREATED)
+                .booking(BookingMapper.toBookingDto(booking))
+                .build()));
+        return results;
+    }
+
+    /**
+     * Approves or rejects a booking, failing with a conflict when another request decided it first.
+     */
+    @Transactional
     public BookingDto updateBooking(Integer bookingId, boolean approved, Integer userId) {
-        getUserById(userId);
+        userExistenceValidator.validateUserExists(userId);
         Booking foundBooking = getBookingById(bookingId);
         if (!foundBooking.getItem().getOwner().getId().equals(userId)) {
             log.error("The user with id {} is not owner of the item with id {}", userId, foundBooking.getItem().getId());
@@ -61,18 +137,151 @@ public class BookingService {
             log.error("The booking with id {} is already approved", bookingId);
             throw new IncorrectParameterException("The booking with id " + bookingId + "is already approved");
         }
+        if (foundBooking.getStatus() == Status.EXPIRED || foundBooking.getStatus() == Status.CANCELED) {
+            log.error("The booking with id {} is not waiting for approval", bookingId);
+            throw new IncorrectParameterException("The booking with id " + bookingId + " is not waiting for approval");
+        }
+
+        Status newStatus = approved ? Status.APPROVED : Status.REJECTED;
+        if (approved) {
+            // the item lock serializes the approvals of one item, so the overlap check sees the earlier ones
+            itemRepository.lockIdsByIdIn(Set.of(foundBooking.getItem().getId()));
+            validateNoApprovedOverlap(foundBooking);
+        }
+        if (bookingRepository.updateStatus(bookingId, newStatus, foundBooking.getStatus()) == 0) {
+            log.error("The booking with id {} was changed by another request", bookingId);
+            throw new ConflictException("The booking with id " + bookingId + " was changed by another request");
+        }
+        if (approved) {
+            itemAvailabilityCalendar.markBusy(List.of(new ItemShortBookingDto(foundBooking.getItem().getId(),
+                    bookingId, null, foundBooking.getStartDate(), foundBooking.getEndDate())));
+        }
+
+        // The managed booking is left untouched, flushing it would fail the version check
+        BookingDto bookingDto = BookingMapper.toBookingDto(foundBooking);
+        bookingDto.setStatus(newStatus);
+        return bookingDto;
+    }
+
+    /**
+     * Approves or rejects the waiting bookings of the items of one owner in one transaction.
+     *
+     * @return one result per id, in the order of {@code bookingIds}
+     */
+    @Transactional
+    public List<BookingDecisionResultDto> updateBookings(List<Integer> bookingIds, boolean approved, Integer userId) {
+        userExistenceValidator.validateUserExists(userId);
+        Status newStatus = approved ? Status.APPROVED : Status.REJECTED;
+        Map<Integer, BookingStatusDto> bookings = bookingRepository.findStatusesByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(BookingStatusDto::getId, Function.identity()));
+
+        Map<Integer, BookingDecisionResultDto> results = new HashMap<>();
+        List<BookingStatusDto> accepted = new ArrayList<>();
+        for (Integer bookingId : new LinkedHashSet<>(bookingIds)) {
+            try {
+                BookingStatusDto booking = Optional.ofNullable(bookings.get(bookingId))
+                        .orElseThrow(() -> bookingNotFound(bookingId));
+                if (!booking.getOwnerId().equals(userId)) {
+                    log.error("The user with id {} is not owner of the item with id {}", userId, booking.getItemId());
+                    throw new EntityNotFoundException("The user with id " + userId + " is not owner of the item with id "
+                            + booking.getItemId());
+                }
+                if (booking.getStatus() != Status.WAITING) {
+                    log.error("The booking with id {} is not waiting for approval", bookingId);
+                    throw new IncorrectParameterException("The booking with id " + bookingId
+                            + " is not waiting for approval");
+                }
+                accepted.add(booking);
+            } catch (EntityNotFoundException e) {
+                results.put(bookingId, failedDecision(bookingId, BatchResult.NOT_FOUND, e));
+            } catch (IncorrectParameterException e) {
+                results.put(bookingId, failedDecision(bookingId, BatchResult.BAD_REQUEST, e));
+            }
+        }
+
+        if (approved && !accepted.isEmpty()) {
+            Set<Integer> itemIds = accepted.stream().map(BookingStatusDto::getItemId).collect(Collectors.toSet());
+            itemRepository.lockIdsByIdIn(itemIds);
+            Map<Integer, List<ItemShortBookingDto>> approvedBookings = findApprovedBookings(itemIds,
+                    accepted.stream().map(BookingStatusDto::getStartDate).min(Comparator.naturalOrder()).orElse(null),
+                    accepted.stream().map(BookingStatusDto::getEndDate).max(Comparator.naturalOrder()).orElse(null));
+            // a booking must not overlap the bookings approved before it in the same batch either
+            Iterator<BookingStatusDto> iterator = accepted.iterator();
+            while (iterator.hasNext()) {
+                BookingStatusDto booking = iterator.next();
+                List<ItemShortBookingDto> itemBookings = approvedBookings.computeIfAbsent(booking.getItemId(),
+                        itemId -> new ArrayList<>());
+                try {
+                    validateNoApprovedOverlap(booking.getItemId(), booking.getStartDate(), booking.getEndDate(),
+                            itemBookings);
+                    itemBookings.add(new ItemShortBookingDto(booking.getItemId(), booking.getId(), null,
+                            booking.getStartDate(), booking.getEndDate()));
+                } catch (ConflictException e) {
+                    results.put(booking.getId(), failedDecision(booking.getId(), BatchResult.CONFLICT, e));
+                    iterator.remove();
+                }
+            }
+        }
 
+        // the locked ids are the bookings still waiting, the others were decided by another request
+        Set<Integer> acceptedIds = accepted.stream().map(BookingStatusDto::getId).collect(Collectors.toSet());
+        Set<Integer> updatedIds = acceptedIds.isEmpty() ? Collections.emptySet()
+                : new HashSet<>(bookingRepository.lockIdsByIdInAndStatus(acceptedIds, Status.WAITING));
+        if (!updatedIds.isEmpty()) {
+            bookingRepository.updateStatus(updatedIds, newStatus, Status.WAITING);
+        }
         if (approved) {
-            foundBooking.setStatus(Status.APPROVED);
-        } else {
-            foundBooking.setStatus(Status.REJECTED);
+            itemAvailabilityCalendar.markBusy(accepted.stream()
+                    .filter(booking -> updatedIds.contains(booking.getId()))
+                    .map(booking -> new ItemShortBookingDto(booking.getItemId(), booking.getId(), null,
+                            booking.getStartDate(), booking.getEndDate()))
+                    .collect(Collectors.toList()));
+        }
+        for (Integer bookingId : acceptedIds) {
+            if (updatedIds.contains(bookingId)) {
+                results.put(bookingId, BookingDecisionResultDto.builder()
+                        .bookingId(bookingId)
+                        .result(BatchResult.UPDATED)
+                        .status(newStatus)
+                        .build());
+            } else {
+                log.error("The booking with id {} was changed by another request", bookingId);
+                results.put(bookingId, failedDecision(bookingId, BatchResult.CONFLICT,
+                        new ConflictException("The booking with id " + bookingId + " was changed by another request")));
+            }
+        }
+
+        return bookingIds.stream()
+                .map(results::get)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Expires at most {@code batchSize} waiting bookings that started before {@code now}, oldest first.
+     *
+     * @return the number of expired bookings
+     */
+    @Transactional
+    public int expireWaitingBookings(LocalDateTime now, int batchSize) {
+        List<Integer> bookingIds = bookingRepository.findIdsByStatusAndStartDateBefore(Status.WAITING, now,
+                PageRequest.of(0, batchSize));
+        if (bookingIds.isEmpty()) {
+            return 0;
         }
+        return bookingRepository.updateStatus(bookingIds, Status.EXPIRED, Status.WAITING);
+    }
 
-        return BookingMapper.toBookingDto(bookingRepository.saveAndFlush(foundBooking));
+    /**
+     * Returns how long the oldest waiting booking that started before {@code now} has been overdue,
+     * or zero when there is none.
+     */
+    public Duration getExpiryLag(LocalDateTime now) {
+        LocalDateTime oldestStartDate = bookingRepository.findOldestStartDate(Status.WAITING, now);
+        return oldestStartDate == null ? Duration.ZERO : Duration.between(oldestStartDate, now);
     }
 
     public BookingDto getBookingByItemOwnerOrBooker(Integer bookingId, Integer userId) {
-        getUserById(userId);
+        userExistenceValidator.validateUserExists(userId);
         Booking foundBooking = getBookingById(bookingId);
         if (!foundBooking.getBooker().getId().equals(userId) &&
                 !foundBooking.getItem().getOwner().getId().equals(userId)) {
@@ -85,12 +294,11 @@ public class BookingService {
     public List<BookingDto> getAllByBookerId(Integer userId, String state, Integer from, Integer size) {
         List<BookingDto> bookingsDtos;
         try {
-            getUserById(userId);
-            validatePageable(from, size);
+            userExistenceValidator.validateUserExists(userId);
+            Pageable pageable = validatePageable(from, size);
             State bookingState = State.valueOf(state);
-            Sort sort = Sort.by(Sort.Direction.DESC, "startDate");
-            Pageable pageable = PageRequest.of(from > 0 ? from / size : 0, size, sort);
-            List<Booking> bookings = getBookingsByBooker(bookingState, userId, pageable);
+            List<BookingListDto> bookings = bookingRepository.findBookerBookings(userId, bookingState,
+                    LocalDateTime.now(), pageable);
             bookingsDtos = bookings.stream().map(BookingMapper::toBookingDto)
                     .collect(Collectors.toList());
         } catch (IllegalArgumentException e) {
@@ -101,12 +309,12 @@ public class BookingService {
     }
 
     public List<BookingDto> getAllByOwnerId(Integer ownerId, String state, Integer from, Integer size) {
-        List<Booking> bookings;
+        List<BookingListDto> bookings;
         try {
-            getUserById(ownerId);
+            userExistenceValidator.validateUserExists(ownerId);
             Pageable pageable = validatePageable(from, size);
             State bookingState = State.valueOf(state);
-            bookings = getBookingsByOwnerId(ownerId, bookingState, pageable);
+            bookings = bookingRepository.findOwnerBookings(ownerId, bookingState, LocalDateTime.now(), pageable);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Unknown state: " + state);
         }
@@ -115,56 +323,45 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
-    private List<Booking> getBookingsByBooker(State state, Integer userId, Pageable pageable) {
-        List<Booking> bookings = null;
-
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findAllByBookerId(userId, pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllByBookerIdAndEndDateIsBefore(userId, LocalDateTime.now(), pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllByBookerIdAndStartDateIsAfter(userId, LocalDateTime.now(), pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findAllByBookerIdCurrent(userId, LocalDateTime.now(), pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByBookerIdAndStatus(userId, Status.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByBookerIdAndStatus(userId, Status.REJECTED, pageable);
-        }
-        return bookings;
-    }
-
-
-    private List<Booking> getBookingsByOwnerId(Integer userId, State state, Pageable pageable) {
-        List<Booking> bookings = null;
-
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findAllByItemOwner(userId, pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findAllCurrentBookingByOwnerId(userId, LocalDateTime.now(), pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStartDateIsAfter(userId, LocalDateTime.now(), pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllByItemOwnerIdAndEndDateIsBefore(userId, LocalDateTime.now(), pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStatus(userId, Status.REJECTED, pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStatus(userId, Status.WAITING, pageable);
-                break;
-        }
-        return bookings;
+    public CursorPage<BookingDto> getAllByBookerIdAfter(Integer userId, String state, String cursor, Integer size) {
+        userExistenceValidator.validateUserExists(userId);
+        validateSize(size);
+        State bookingState = toState(state);
+
+        List<BookingListDto> bookings = bookingRepository.findBookerPage(userId, bookingState, LocalDateTime.now(),
+                Cursor.decode(cursor), size);
+        return toCursorPage(bookings, size);
+    }
+
+    public CursorPage<BookingDto> getAllByOwnerIdAfter(Integer ownerId, String state, String cursor, Integer size) {
+        userExistenceValidator.validateUserExists(ownerId);
+        validateSize(size);
+        State bookingState = toState(state);
+
+        List<BookingListDto> bookings = bookingRepository.findOwnerPage(ownerId, bookingState, LocalDateTime.now(),
+                Cursor.decode(cursor), size);
+        return toCursorPage(bookings, size);
+    }
+
+    private CursorPage<BookingDto> toCursorPage(List<BookingListDto> bookings, Integer size) {
+        String nextCursor = null;
+        if (bookings.size() == size) {
+            BookingListDto lastBooking = bookings.get(bookings.size() - 1);
+            nextCursor = new Cursor(lastBooking.getStartDate(), lastBooking.getId()).encode();
+        }
+
+        List<BookingDto> bookingDtos = bookings.stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+        return new CursorPage<>(bookingDtos, nextCursor);
+    }
+
+    private State toState(String state) {
+        try {
+            return State.valueOf(state);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown state: " + state);
+        }
     }
 
     private void validateEndAndStartDate(BookingDto bookingDto) {
@@ -186,6 +383,63 @@ public class BookingService {
         }
     }
 
+    private void validateNoApprovedOverlap(Booking booking) {
+        if (bookingRepository.existsByItemIdAndStatusAndStartDateBeforeAndEndDateAfter(booking.getItem().getId(),
+                Status.APPROVED, booking.getEndDate(), booking.getStartDate())) {
+            throw alreadyBooked(booking.getItem().getId(), booking.getStartDate(), booking.getEndDate());
+        }
+    }
+
+    private void validateNoApprovedOverlap(Integer itemId, LocalDateTime startDate, LocalDateTime endDate,
+                                           List<ItemShortBookingDto> approvedBookings) {
+        boolean overlaps = approvedBookings.stream()
+                .anyMatch(approved -> approved.getStartDate().isBefore(endDate)
+                        && approved.getEndDate().isAfter(startDate));
+        if (overlaps) {
+            throw alreadyBooked(itemId, startDate, endDate);
+        }
+    }
+
+    private ConflictException alreadyBooked(Integer itemId, LocalDateTime startDate, LocalDateTime endDate) {
+        log.error("The item with id {} is already booked from {} to {}", itemId, startDate, endDate);
+        return new ConflictException("The item with id " + itemId + " is already booked from "
+                + startDate + " to " + endDate);
+    }
+
+    /**
+     * Loads the approved bookings of the items that overlap the period from {@code from} to {@code to}, grouped by item.
+     */
+    private Map<Integer, List<ItemShortBookingDto>> findApprovedBookings(Set<Integer> itemIds, LocalDateTime from,
+                                                                         LocalDateTime to) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return bookingRepository.findOverlappingBookings(itemIds, Status.APPROVED, from, to).stream()
+                .collect(Collectors.groupingBy(ItemShortBookingDto::getItemId, Collectors.toCollection(ArrayList::new)));
+    }
+
+    private void validateNotItemOwner(Item item, Integer userId) {
+        if (item.getOwner().getId().equals(userId)) {
+            log.error("The owner of the item cannot create booking");
+            throw new EntityNotFoundException("The owner of the item cannot create booking");
+        }
+    }
+
+    private BookingDecisionResultDto failedDecision(Integer bookingId, BatchResult result, RuntimeException e) {
+        return BookingDecisionResultDto.builder()
+                .bookingId(bookingId)
+                .result(result)
+                .error(e.getMessage())
+                .build();
+    }
+
+    private BookingBatchResultDto failedResult(BatchResult result, RuntimeException e) {
+        return BookingBatchResultDto.builder()
+                .result(result)
+                .error(e.getMessage())
+                .build();
+    }
+
     private void validateItemAvailability(Item item) {
         if (!item.getAvailable()) {
             log.error("Item with id {} must be available", item.getId());
@@ -195,10 +449,12 @@ public class BookingService {
 
 
     private Booking getBookingById(Integer id) {
-        return bookingRepository.findById(id).orElseThrow(() -> {
-            log.error("The booking with id {} not found", id);
-            return new EntityNotFoundException("The booking with id " + id + " not found");
-        });
+        return bookingRepository.findById(id).orElseThrow(() -> bookingNotFound(id));
+    }
+
+    private EntityNotFoundException bookingNotFound(Integer id) {
+        log.error("The booking with id {} not found", id);
+        return new EntityNotFoundException("The booking with id " + id + " not found");
     }
 
 
@@ -210,10 +466,12 @@ public class BookingService {
     }
 
     private Item getItemById(Integer itemId) {
-        return itemRepository.findById(itemId).orElseThrow(() -> {
-            log.error("The item with id {} is not found", itemId);
-            return new EntityNotFoundException("The item with id " + itemId + " is not found");
-        });
+        return itemRepository.findById(itemId).orElseThrow(() -> itemNotFound(itemId));
+    }
+
+    private EntityNotFoundException itemNotFound(Integer itemId) {
+        log.error("The item with id {} is not found", itemId);
+        return new EntityNotFoundException("The item with id " + itemId + " is not found");
     }
 
     private Pageable validatePageable(Integer from, Integer size) {
@@ -221,12 +479,16 @@ public class BookingService {
             log.error("Params from and size must be higher than 0");
             throw new IncorrectParameterException("Params from and size must be higher than 0");
         }
-        if (size == null || size < 0) {
+        validateSize(size);
+
+        return PageRequest.of(from / size, size);
+    }
+
+    private void validateSize(Integer size) {
+        if (size == null || size <= 0) {
             log.error("Params from and size must be higher than 0");
             throw new IncorrectParameterException("Params from and size must be higher than 0");
         }
-
-        return PageRequest.of(from, size, SORT);
     }
 
 }
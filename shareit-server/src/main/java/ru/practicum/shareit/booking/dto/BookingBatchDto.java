@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Bookings created together by {@code POST /bookings/batch}.
+ */
+@Data
+@Builder
+@Jacksonized
+public class BookingBatchDto {
+
+    @NotEmpty
+    @Size(max = 100)
+    private List<@Valid BookingDto> bookings;
+}
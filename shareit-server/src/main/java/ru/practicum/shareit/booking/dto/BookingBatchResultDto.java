@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+import ru.practicum.shareit.booking.BatchResult;
+
+/**
+ * Result of one entry of a batch, in the order of the request.
+ * Holds the created booking on success and the reason otherwise.
+ */
+@Data
+@Builder
+@Jacksonized
+public class BookingBatchResultDto {
+
+    private BatchResult result;
+
+    private BookingDto booking;
+
+    private String error;
+}
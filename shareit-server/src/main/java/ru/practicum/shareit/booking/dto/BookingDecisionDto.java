@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Bookings approved or rejected together by {@code PATCH /bookings/batch}.
+ */
+@Data
+@Builder
+@Jacksonized
+public class BookingDecisionDto {
+
+    @NotEmpty
+    @Size(max = 100)
+    private List<@NotNull Integer> bookingIds;
+}
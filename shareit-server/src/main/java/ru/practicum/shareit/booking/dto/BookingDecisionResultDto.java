@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+import ru.practicum.shareit.booking.BatchResult;
+import ru.practicum.shareit.booking.Status;
+
+/**
+ * Result of approving or rejecting one booking of a batch, in the order of the request.
+ * Holds the new status on success and the reason otherwise.
+ */
+@Data
+@Builder
+@Jacksonized
+public class BookingDecisionResultDto {
+
+    private Integer bookingId;
+
+    private BatchResult result;
+
+    private Status status;
+
+    private String error;
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking listed by {@code BookingRepository} with only the columns {@link BookingDto} needs:
+ * the booking, the booked item without its owner and request, and the booker.
+ */
+@Data
+@AllArgsConstructor
+public class BookingListDto {
+
+    private Integer id;
+
+    private LocalDateTime startDate;
+
+    private LocalDateTime endDate;
+
+    private Status status;
+
+    private Integer itemId;
+
+    private String itemName;
+
+    private String itemDescription;
+
+    private Boolean itemAvailable;
+
+    private Integer ownerId;
+
+    private Integer requestId;
+
+    private Integer bookerId;
+
+    private String bookerName;
+
+    private String bookerEmail;
+}
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking.dto;
 
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
@@ -30,6 +32,30 @@ public class BookingMapper {
                 .build();
     }
 
+    public static BookingDto toBookingDto(BookingListDto booking) {
+        return BookingDto.builder()
+                .id(booking.getId())
+                .bookerDto(UserDto.builder()
+                        .id(booking.getBookerId())
+                        .name(booking.getBookerName())
+                        .email(booking.getBookerEmail())
+                        .build())
+                .itemDto(ItemDto.builder()
+                        .id(booking.getItemId())
+                        .name(booking.getItemName())
+                        .description(booking.getItemDescription())
+                        .available(booking.getItemAvailable())
+                        .ownerId(booking.getOwnerId())
+                        .requestId(booking.getRequestId())
+                        .build())
+                .itemId(booking.getItemId())
+                .bookerId(booking.getBookerId())
+                .endDate(booking.getEndDate().format(DATE_TIME_FORMATTER))
+                .startDate(booking.getStartDate().format(DATE_TIME_FORMATTER))
+                .status(booking.getStatus())
+                .build();
+    }
+
     public static Booking toBooking(BookingDto bookingDto, Item item, User booker) {
 
         LocalDateTime startDate = LocalDateTime.parse(bookingDto.getStartDate(), DATE_TIME_FORMATTER);
@@ -52,4 +78,13 @@ public class BookingMapper {
                 .startDate(booking.getStartDate())
                 .build();
     }
+
+    public static ShortBookingDto toShortBooking(ItemShortBookingDto booking) {
+        return ShortBookingDto.builder()
+                .id(booking.getId())
+                .bookerId(booking.getBookerId())
+                .endDate(booking.getEndDate())
+                .startDate(booking.getStartDate())
+                .build();
+    }
 }
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking selected by {@code BookingRepository} with only the columns needed to approve or reject it:
+ * the owner of the booked item, the current status and the booked period.
+ */
+@Data
+@AllArgsConstructor
+public class BookingStatusDto {
+
+    private Integer id;
+
+    private Integer itemId;
+
+    private Integer ownerId;
+
+    private Status status;
+
+    private LocalDateTime startDate;
+
+    private LocalDateTime endDate;
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last or next booking of an item, selected by {@code BookingRepository} with only the columns
+ * {@link ShortBookingDto} needs plus the item id used to group the rows.
+ */
+@Data
+@AllArgsConstructor
+public class ItemShortBookingDto {
+
+    private Integer itemId;
+
+    private Integer id;
+
+    private Integer bookerId;
+
+    private LocalDateTime startDate;
+
+    private LocalDateTime endDate;
+}
@@ -1,11 +1,19 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
 
     List<Comment> findAllByItemId(Integer itemId);
+
+    @EntityGraph(attributePaths = "author")
+    @Query("select c from Comment as c " +
+            "where c.item.id in ?1")
+    List<Comment> findAllByItemIdIn(Collection<Integer> itemIds);
 }
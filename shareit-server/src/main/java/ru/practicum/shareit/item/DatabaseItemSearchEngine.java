@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database", matchIfMissing = true)
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+    private final int maxCandidates;
+
+    public DatabaseItemSearchEngine(ItemRepository itemRepository,
+                                    @Value("${shareit.search.max-candidates:1000}") int maxCandidates) {
+        this.itemRepository = itemRepository;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @Override
+    public List<ItemDto> search(String text, Pageable pageable) {
+        // the query ranks the items itself, a sort of the page would be appended after its order by
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return itemRepository.findByText(text, maxCandidates, page).stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        // the database keeps its own indexes up to date
+    }
+
+    @Override
+    public void removeUserItems(Integer userId) {
+        // the rows are removed by the database cascade
+    }
+}
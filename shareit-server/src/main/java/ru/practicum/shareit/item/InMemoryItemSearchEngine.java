@@ -0,0 +1,207 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Word index of the available items kept in the memory of one server instance, filled from the database on startup.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine, SmartInitializingSingleton {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final ItemRepository itemRepository;
+
+    private final ConcurrentNavigableMap<String, NavigableSet<Integer>> itemIdsByToken = new ConcurrentSkipListMap<>();
+    private final Map<Integer, IndexedItem> itemsById = new ConcurrentHashMap<>();
+
+    @Value("${shareit.search.rebuild-batch-size:500}")
+    private int batchSize = 500;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        int lastId = 0;
+        int count = 0;
+        List<Item> items;
+        do {
+            items = itemRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, PageRequest.ofSize(batchSize));
+            for (Item item : items) {
+                index(item);
+                lastId = item.getId();
+            }
+            count += items.size();
+        } while (items.size() == batchSize);
+        log.info("The search index is built from {} items", count);
+    }
+
+    @Override
+    public List<ItemDto> search(String text, Pageable pageable) {
+        Set<String> queryTokens = tokenize(text);
+        if (queryTokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String longestToken = Collections.max(queryTokens, Comparator.comparingInt(String::length));
+        Iterator<Integer> candidateIds = findByPrefix(longestToken);
+        List<ItemDto> found = new ArrayList<>();
+        long skipped = 0;
+        while (found.size() < pageable.getPageSize() && candidateIds.hasNext()) {
+            IndexedItem indexedItem = itemsById.get(candidateIds.next());
+            if (indexedItem == null || !indexedItem.matches(queryTokens)) {
+                continue;
+            }
+            if (skipped < pageable.getOffset()) {
+                skipped++;
+            } else {
+                found.add(indexedItem.getItemDto());
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public synchronized void index(Item item) {
+        remove(item.getId());
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+
+        Set<String> tokens = tokenize(item.getName());
+        tokens.addAll(tokenize(item.getDescription()));
+        Integer requestorId = item.getRequest() != null ? item.getRequest().getRequestor().getId() : null;
+        itemsById.put(item.getId(), new IndexedItem(ItemMapper.toItemDto(item), requestorId, tokens));
+        for (String token : tokens) {
+            itemIdsByToken.computeIfAbsent(token, key -> new ConcurrentSkipListSet<>()).add(item.getId());
+        }
+    }
+
+    @Override
+    public synchronized void removeUserItems(Integer userId) {
+        List<Integer> itemIds = itemsById.values().stream()
+                .filter(indexedItem -> userId.equals(indexedItem.getItemDto().getOwnerId())
+                        || userId.equals(indexedItem.getRequestorId()))
+                .map(indexedItem -> indexedItem.getItemDto().getId())
+                .collect(Collectors.toList());
+        itemIds.forEach(this::remove);
+    }
+
+    private void remove(Integer itemId) {
+        IndexedItem indexedItem = itemsById.remove(itemId);
+        if (indexedItem == null) {
+            return;
+        }
+        for (String token : indexedItem.getTokens()) {
+            itemIdsByToken.computeIfPresent(token, (key, ids) -> {
+                ids.remove(itemId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * @return the ids of the items having a word starting with the prefix, in ascending order without repeats
+     */
+    private Iterator<Integer> findByPrefix(String prefix) {
+        return new MergingIterator(itemIdsByToken.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values());
+    }
+
+    private Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    @lombok.Value
+    private static class IndexedItem {
+        ItemDto itemDto;
+        Integer requestorId;
+        Set<String> tokens;
+
+        boolean matches(Set<String> queryTokens) {
+            return queryTokens.stream()
+                    .allMatch(queryToken -> tokens.stream().anyMatch(token -> token.startsWith(queryToken)));
+        }
+    }
+
+    // merges the sorted id sets lazily, so a search reads them only up to the end of its page
+    private static class MergingIterator implements Iterator<Integer> {
+
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::getId));
+        private Integer next;
+
+        MergingIterator(Collection<NavigableSet<Integer>> idSets) {
+            idSets.forEach(ids -> advance(ids.iterator()));
+            next = poll(null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Integer next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Integer current = next;
+            next = poll(current);
+            return current;
+        }
+
+        private Integer poll(Integer previous) {
+            while (!heads.isEmpty()) {
+                Head head = heads.poll();
+                advance(head.getIds());
+                if (!head.getId().equals(previous)) {
+                    return head.getId();
+                }
+            }
+            return null;
+        }
+
+        private void advance(Iterator<Integer> ids) {
+            if (ids.hasNext()) {
+                heads.add(new Head(ids.next(), ids));
+            }
+        }
+
+        @lombok.Value
+        private static class Head {
+            Integer id;
+            Iterator<Integer> ids;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.ItemShortBookingDto;
+import ru.practicum.shareit.item.model.ItemBusyPeriod;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the busy periods of items, their approved bookings merged into runs of busy dates.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemAvailabilityCalendar {
+
+    private final ItemBusyPeriodRepository itemBusyPeriodRepository;
+    private final ItemRepository itemRepository;
+
+    /**
+     * @return the busy periods of the item that intersect the window, ordered by their start
+     */
+    public List<ItemBusyPeriod> getBusyPeriods(Integer itemId, LocalDateTime from, LocalDateTime to) {
+        return itemBusyPeriodRepository.findOverlappingPeriods(itemId, from, to);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markBusy(Collection<ItemShortBookingDto> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        Set<Integer> itemIds = bookings.stream().map(ItemShortBookingDto::getItemId).collect(Collectors.toSet());
+        // the item locks make concurrent approvals of one item merge their periods one after another
+        itemRepository.lockIdsByIdIn(itemIds);
+        Map<Integer, List<ItemBusyPeriod>> periods = itemBusyPeriodRepository.findTouchingPeriods(
+                        itemIds,
+                        bookings.stream().map(ItemShortBookingDto::getStartDate).min(Comparator.naturalOrder()).get(),
+                        bookings.stream().map(ItemShortBookingDto::getEndDate).max(Comparator.naturalOrder()).get())
+                .stream()
+                .collect(Collectors.groupingBy(ItemBusyPeriod::getItemId, Collectors.toCollection(ArrayList::new)));
+        bookings.forEach(booking -> periods.computeIfAbsent(booking.getItemId(), itemId -> new ArrayList<>())
+                .add(ItemBusyPeriod.builder()
+                        .itemId(booking.getItemId())
+                        .startDate(booking.getStartDate())
+                        .endDate(booking.getEndDate())
+                        .build()));
+
+        List<ItemBusyPeriod> stalePeriods = new ArrayList<>();
+        List<ItemBusyPeriod> mergedPeriods = new ArrayList<>();
+        periods.values().forEach(itemPeriods -> merge(itemPeriods, stalePeriods, mergedPeriods));
+        if (!stalePeriods.isEmpty()) {
+            itemBusyPeriodRepository.deleteAllInBatch(stalePeriods);
+        }
+        itemBusyPeriodRepository.saveAll(mergedPeriods);
+    }
+
+    private void merge(List<ItemBusyPeriod> itemPeriods, List<ItemBusyPeriod> stalePeriods,
+                       List<ItemBusyPeriod> mergedPeriods) {
+        itemPeriods.sort(Comparator.comparing(ItemBusyPeriod::getStartDate));
+        List<ItemBusyPeriod> run = new ArrayList<>();
+        LocalDateTime runEnd = null;
+        for (ItemBusyPeriod period : itemPeriods) {
+            if (runEnd != null && period.getStartDate().isAfter(runEnd)) {
+                closeRun(run, runEnd, stalePeriods, mergedPeriods);
+                run = new ArrayList<>();
+            }
+            runEnd = run.isEmpty() || period.getEndDate().isAfter(runEnd) ? period.getEndDate() : runEnd;
+            run.add(period);
+        }
+        closeRun(run, runEnd, stalePeriods, mergedPeriods);
+    }
+
+    private void closeRun(List<ItemBusyPeriod> run, LocalDateTime runEnd, List<ItemBusyPeriod> stalePeriods,
+                          List<ItemBusyPeriod> mergedPeriods) {
+        // a stored period that touches no other period stays as it is
+        if (run.size() == 1 && run.get(0).getId() != null) {
+            return;
+        }
+        run.stream()
+                .filter(period -> period.getId() != null)
+                .forEach(stalePeriods::add);
+        mergedPeriods.add(ItemBusyPeriod.builder()
+                .itemId(run.get(0).getItemId())
+                .startDate(run.get(0).getStartDate())
+                .endDate(runEnd)
+                .build());
+    }
+}
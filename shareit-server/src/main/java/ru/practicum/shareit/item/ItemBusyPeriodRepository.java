@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.model.ItemBusyPeriod;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ItemBusyPeriodRepository extends JpaRepository<ItemBusyPeriod, Integer> {
+
+    @Query("select p from ItemBusyPeriod as p " +
+            "where p.itemId = ?1 " +
+            "and p.startDate < ?3 " +
+            "and p.endDate > ?2 " +
+            "order by p.startDate asc")
+    List<ItemBusyPeriod> findOverlappingPeriods(Integer itemId, LocalDateTime from, LocalDateTime to);
+
+    @Query("select p from ItemBusyPeriod as p " +
+            "where p.itemId in ?1 " +
+            "and p.startDate <= ?3 " +
+            "and p.endDate >= ?2")
+    List<ItemBusyPeriod> findTouchingPeriods(Collection<Integer> itemIds, LocalDateTime from, LocalDateTime to);
+}
@@ -1,24 +1,60 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Integer> {
 
-    @Query("select i from Item as i " +
+    /**
+     * Ranks the first {@code maxCandidates} matching items by id: names starting with the text first, then names
+     * containing it, then descriptions. The id orders the items of the same rank.
+     */
+    @Query(value = "select c.* from (select i.* from items as i " +
             "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
             "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
-            "and i.available = true")
-    List<Item> findByText(String text, Pageable pageable);
+            "and i.is_available = true " +
+            "order by i.id " +
+            "limit ?2) as c " +
+            "order by case " +
+            "when upper(c.name) like upper(concat(?1, '%')) then 0 " +
+            "when upper(c.name) like upper(concat('%', ?1, '%')) then 1 " +
+            "else 2 end, c.id",
+            nativeQuery = true)
+    List<Item> findByText(String text, int maxCandidates, Pageable pageable);
 
+    @Query("select i from Item as i " +
+            "where i.owner.id = ?1")
     List<Item> findAllByOwnerId(Integer userId, Pageable pageable);
 
+    @Query("select i from Item as i " +
+            "where i.request.id = ?1")
     List<Item> findAllByRequestId(Integer requestId);
 
+    @EntityGraph(attributePaths = {"owner", "request"})
+    @Query("select i from Item as i " +
+            "where i.request.id in ?1")
+    List<Item> findAllByRequestIdIn(Collection<Integer> requestIds);
+
+    @EntityGraph(attributePaths = {"owner", "request"})
+    List<Item> findAllByIdIn(Collection<Integer> ids);
+
+    @EntityGraph(attributePaths = {"owner", "request", "request.requestor"})
+    List<Item> findAllByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i.id from Item as i " +
+            "where i.id in ?1 " +
+            "order by i.id asc")
+    List<Integer> lockIdsByIdIn(Collection<Integer> ids);
+
 }
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Full text search over the names and descriptions of the available items.
+ * The implementation is chosen by the {@code shareit.search.engine} property.
+ */
+public interface ItemSearchEngine {
+
+    List<ItemDto> search(String text, Pageable pageable);
+
+    void index(Item item);
+
+    /**
+     * Forgets the items removed by the database together with the user: the items owned by the user
+     * and the items added in response to the user's requests.
+     */
+    void removeUserItems(Integer userId);
+}
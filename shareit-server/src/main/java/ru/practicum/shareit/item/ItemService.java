@@ -1,9 +1,11 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemForOwnerDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -19,4 +21,6 @@ public interface ItemService {
     List<ItemDto> searchItems(String text, Integer from, Integer size);
 
     CommentDto addComment(CommentDto commentDto, Integer userId, Integer itemId);
+
+    List<AvailabilitySlotDto> getItemAvailability(Integer itemId, Integer userId, LocalDateTime from, LocalDateTime to);
 }
@@ -10,21 +10,26 @@ import org.springframework.validation.annotation.Validated;
 import ru.practicum.shareit.booking.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.ItemShortBookingDto;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.IncorrectParameterException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBusyPeriod;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserExistenceValidator;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,12 +40,16 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserExistenceValidator userExistenceValidator;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final BookingService bookingService;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemAvailabilityCalendar itemAvailabilityCalendar;
 
     private static final Sort SORT = Sort.by(Sort.Direction.ASC, "id");
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
 
     @Override
@@ -49,14 +58,16 @@ public class ItemServiceImpl implements ItemService {
         ItemRequest itemRequest = getItemRequestById(itemDto.getRequestId());
         Item item = ItemMapper.toItemFromDto(itemDto, user, itemRequest);
         item.setOwner(user);
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        return ItemMapper.toItemDto(savedItem);
     }
 
     @Override
     public ItemDto updateItem(ItemDto item, Integer itemId, Integer userId) {
-        User user = getUserById(userId);
+        userExistenceValidator.validateUserExists(userId);
         Item optItem = getItemById(itemId);
-        if (!optItem.getOwner().equals(user)) {
+        if (!optItem.getOwner().getId().equals(userId)) {
             log.error("The item with id {} is not owned by user {}", itemId, userId);
             throw new EntityNotFoundException("The item with id " + itemId + " is not owned by user " + userId);
         }
@@ -72,39 +83,28 @@ public class ItemServiceImpl implements ItemService {
         if (item.getDescription() != null) {
             optItem.setDescription(item.getDescription());
         }
-        return ItemMapper.toItemDto(itemRepository.saveAndFlush(optItem));
+        Item savedItem = itemRepository.saveAndFlush(optItem);
+        itemSearchEngine.index(savedItem);
+        return ItemMapper.toItemDto(savedItem);
     }
 
     @Override
     public List<ItemForOwnerDto> getAllItemsOfUser(Integer userId, Integer from, Integer size) {
-        getUserById(userId);
+        userExistenceValidator.validateUserExists(userId);
         List<Item> items;
         Pageable pageable = validatePageable(from, size);
 
         items = itemRepository.findAllByOwnerId(userId, pageable);
 
-        List<ItemForOwnerDto> itemForOwnerDtoList = new ArrayList<>();
-
-        for (Item item : items) {
-            ItemForOwnerDto itemForOwnerDto = ItemMapper.toItemForOwnerDto(item);
-            setBookingsToItem(userId, item, itemForOwnerDto);
-            setCommentsToItem(item, itemForOwnerDto);
-            itemForOwnerDtoList.add(itemForOwnerDto);
-        }
-
-        return itemForOwnerDtoList;
+        return toItemForOwnerDtos(items, userId);
     }
 
     @Override
     public ItemForOwnerDto getItemDtoById(Integer itemId, Integer userId) {
-        getUserById(userId);
+        userExistenceValidator.validateUserExists(userId);
         Item item = getItemById(itemId);
 
-        ItemForOwnerDto itemForOwnerDto = ItemMapper.toItemForOwnerDto(item);
-
-        setBookingsToItem(userId, item, itemForOwnerDto);
-        setCommentsToItem(item, itemForOwnerDto);
-        return itemForOwnerDto;
+        return toItemForOwnerDtos(List.of(item), userId).get(0);
     }
 
     @Override
@@ -115,10 +115,7 @@ public class ItemServiceImpl implements ItemService {
 
         Pageable pageable = validatePageable(from, size);
 
-        return itemRepository.findByText(text, pageable).stream()
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
-
+        return itemSearchEngine.search(text, pageable);
     }
 
     @Override
@@ -142,6 +139,66 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.toCommentDto(commentRepository.save(comment));
     }
 
+    @Override
+    public List<AvailabilitySlotDto> getItemAvailability(Integer itemId, Integer userId, LocalDateTime from,
+                                                         LocalDateTime to) {
+        userExistenceValidator.validateUserExists(userId);
+        Item item = getItemById(itemId);
+
+        if (!to.isAfter(from)) {
+            log.error("Param to must be after param from");
+            throw new IncorrectParameterException("Param to must be after param from");
+        }
+
+        return toAvailabilitySlots(itemAvailabilityCalendar.getBusyPeriods(item.getId(), from, to), from, to);
+    }
+
+    private List<AvailabilitySlotDto> toAvailabilitySlots(List<ItemBusyPeriod> busyPeriods,
+                                                          LocalDateTime from, LocalDateTime to) {
+        List<AvailabilitySlotDto> slots = new ArrayList<>();
+        LocalDateTime freeFrom = from;
+        LocalDateTime busyFrom = null;
+        LocalDateTime busyTo = null;
+
+        for (ItemBusyPeriod busyPeriod : busyPeriods) {
+            LocalDateTime start = busyPeriod.getStartDate().isBefore(from) ? from : busyPeriod.getStartDate();
+            LocalDateTime end = busyPeriod.getEndDate().isAfter(to) ? to : busyPeriod.getEndDate();
+
+            if (busyTo != null && !start.isAfter(busyTo)) {
+                if (end.isAfter(busyTo)) {
+                    busyTo = end;
+                }
+                continue;
+            }
+            if (busyTo != null) {
+                slots.add(toAvailabilitySlot(busyFrom, busyTo, false));
+                freeFrom = busyTo;
+            }
+            if (start.isAfter(freeFrom)) {
+                slots.add(toAvailabilitySlot(freeFrom, start, true));
+            }
+            busyFrom = start;
+            busyTo = end;
+        }
+
+        if (busyTo != null) {
+            slots.add(toAvailabilitySlot(busyFrom, busyTo, false));
+            freeFrom = busyTo;
+        }
+        if (to.isAfter(freeFrom)) {
+            slots.add(toAvailabilitySlot(freeFrom, to, true));
+        }
+        return slots;
+    }
+
+    private AvailabilitySlotDto toAvailabilitySlot(LocalDateTime start, LocalDateTime end, boolean available) {
+        return AvailabilitySlotDto.builder()
+                .start(DATE_TIME_FORMATTER.format(start))
+                .end(DATE_TIME_FORMATTER.format(end))
+                .available(available)
+                .build();
+    }
+
     private Pageable validatePageable(Integer from, Integer size) {
         if (from == null || from < 0) {
             log.error("Params from and size must be higher than 0");
@@ -180,33 +237,50 @@ public class ItemServiceImpl implements ItemService {
         return request;
     }
 
-    private Booking getLastBooking(List<Booking> bookings) {
-        return bookings.stream()
-                .filter(booking -> booking.getStartDate().isBefore(LocalDateTime.now()))
-                .filter(booking -> booking.getStatus().equals(Status.APPROVED))
-                .max(Comparator.comparing(Booking::getStartDate))
-                .orElse(null);
-    }
+    private List<ItemForOwnerDto> toItemForOwnerDtos(List<Item> items, Integer userId) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-    private Booking getNextBooking(List<Booking> bookings) {
-        return bookings.stream()
-                .filter(booking -> booking.getStartDate().isAfter(LocalDateTime.now()))
-                .filter(booking -> booking.getStatus().equals(Status.APPROVED))
-                .min(Comparator.comparing(Booking::getStartDate))
-                .orElse(null);
-    }
+        List<Integer> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        List<Integer> ownedItemIds = items.stream()
+                .filter(item -> item.getOwner().getId().equals(userId))
+                .map(Item::getId)
+                .collect(Collectors.toList());
 
-    private void setBookingsToItem(Integer userId, Item item, ItemForOwnerDto itemForOwnerDto) {
-        if (item.getOwner().getId().equals(userId)) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, ItemShortBookingDto> lastBookings = ownedItemIds.isEmpty() ? Collections.emptyMap() :
+                toMapByItemId(bookingRepository.findLastBookings(ownedItemIds, Status.APPROVED, now));
+        Map<Integer, ItemShortBookingDto> nextBookings = ownedItemIds.isEmpty() ? Collections.emptyMap() :
+                toMapByItemId(bookingRepository.findNextBookings(ownedItemIds, Status.APPROVED, now));
+        Map<Integer, List<Comment>> commentsByItemId = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
 
-            final Sort itemSort = Sort.by(Sort.Direction.ASC, "id");
+        List<ItemForOwnerDto> itemForOwnerDtoList = new ArrayList<>();
 
-            List<Booking> bookings = bookingRepository.findAllByItemId(item.getId(), itemSort);
+        for (Item item : items) {
+            ItemForOwnerDto itemForOwnerDto = ItemMapper.toItemForOwnerDto(item);
+            setBookingsToItem(userId, item, itemForOwnerDto,
+                    lastBookings.get(item.getId()), nextBookings.get(item.getId()));
+            setCommentsToItem(itemForOwnerDto, commentsByItemId.getOrDefault(item.getId(), Collections.emptyList()));
+            itemForOwnerDtoList.add(itemForOwnerDto);
+        }
 
-            if (!bookings.isEmpty()) {
-                Booking lastBooking = getLastBooking(bookings);
-                Booking nextBooking = getNextBooking(bookings);
+        return itemForOwnerDtoList;
+    }
+
+    private Map<Integer, ItemShortBookingDto> toMapByItemId(List<ItemShortBookingDto> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(ItemShortBookingDto::getItemId, Function.identity(),
+                        (booking, sameStartBooking) -> booking));
+    }
 
+    private void setBookingsToItem(Integer userId, Item item, ItemForOwnerDto itemForOwnerDto,
+                                   ItemShortBookingDto lastBooking, ItemShortBookingDto nextBooking) {
+        if (item.getOwner().getId().equals(userId)) {
+            if (lastBooking != null || nextBooking != null) {
                 if (nextBooking != null) {
                     itemForOwnerDto.setNextBooking(BookingMapper.toShortBooking(nextBooking));
                 }
@@ -222,9 +296,7 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private void setCommentsToItem(Item item, ItemForOwnerDto itemForOwnerDto) {
-        List<Comment> comments = commentRepository.findAllByItemId(item.getId());
-
+    private void setCommentsToItem(ItemForOwnerDto itemForOwnerDto, List<Comment> comments) {
         List<CommentDto> commentDtos = comments.stream()
                 .map(CommentMapper::toCommentDto)
                 .collect(Collectors.toList());
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Data
+@Builder
+public class AvailabilitySlotDto implements Serializable {
+
+    private String start;
+
+    private String end;
+
+    private boolean available;
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A run of time during which an item is booked, made of one or more approved bookings that overlap or touch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "item_busy_periods")
+public class ItemBusyPeriod {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_busy_periods_seq")
+    @SequenceGenerator(name = "item_busy_periods_seq", sequenceName = "item_busy_periods_seq", allocationSize = 50)
+    private Integer id;
+
+    @Column(name = "item_id")
+    private Integer itemId;
+
+    @Column(name = "start_date")
+    private LocalDateTime startDate;
+
+    @Column(name = "end_date")
+    private LocalDateTime endDate;
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.exceptions.IncorrectParameterException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by a timestamp and an id, passed to the clients as an opaque string.
+ */
+@Value
+@Slf4j
+public class Cursor {
+
+    private static final String SEPARATOR = "_";
+
+    LocalDateTime timestamp;
+    Integer id;
+
+    public String encode() {
+        String value = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@code null} for an empty cursor, which points to the beginning of the listing.
+     */
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = value.lastIndexOf(SEPARATOR);
+            return new Cursor(LocalDateTime.parse(value.substring(0, separatorIndex)),
+                    Integer.valueOf(value.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            log.error("The cursor {} is invalid", cursor);
+            throw new IncorrectParameterException("The cursor " + cursor + " is invalid");
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestForOwnerDto;
 
@@ -36,9 +38,19 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestForOwnerDto> getPageableRequests(@RequestHeader("X-Sharer-User-Id") Integer userId,
-                                                            @RequestParam(required = false) Integer from,
-                                                            @RequestParam(required = false) Integer size) {
-        return itemRequestService.getAllRequestsPageable(userId, from, size);
+    public ResponseEntity<List<ItemRequestForOwnerDto>> getPageableRequests(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                                            @RequestParam(required = false) Integer from,
+                                                                            @RequestParam(required = false) Integer size,
+                                                                            @RequestParam(required = false) String cursor) {
+        if (cursor == null) {
+            return ResponseEntity.ok(itemRequestService.getAllRequestsPageable(userId, from, size));
+        }
+
+        CursorPage<ItemRequestForOwnerDto> page = itemRequestService.getAllRequestsAfter(userId, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getContent());
     }
 }
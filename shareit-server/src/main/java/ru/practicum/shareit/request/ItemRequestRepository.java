@@ -1,19 +1,32 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Integer> {
 
+    @Query("select ir from ItemRequest as ir " +
+            "where ir.requestor.id = ?1")
     List<ItemRequest> findAllByRequestorId(Integer requestorId, Sort sort);
 
+    @Query("select ir.id from ItemRequest as ir " +
+            "where ir.requestor.id = ?1")
+    List<Integer> findIdsByRequestorId(Integer requestorId);
+
+    @Query("select ir from ItemRequest as ir " +
+            "where ir.requestor.id <> ?1 " +
+            "order by ir.createdDate asc, ir.id asc")
+    Slice<ItemRequest> findOtherRequestsByRequestorId(Integer requestorId, Pageable pageable);
+
     @Query("select ir from ItemRequest as ir " +
             "where ir.requestor.id <> ?1 " +
-            "order by ir.createdDate asc")
-    Page<ItemRequest> findOtherRequestsByRequestorId(Integer requestorId, Pageable pageable);
+            "and (ir.createdDate > ?2 or (ir.createdDate = ?2 and ir.id > ?3)) " +
+            "order by ir.createdDate asc, ir.id asc")
+    List<ItemRequest> findOtherRequestsAfter(Integer requestorId, LocalDateTime createdDate, Integer id, Pageable pageable);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestForOwnerDto;
 
@@ -14,4 +15,6 @@ public interface ItemRequestService {
     ItemRequestForOwnerDto getRequestById(Integer requestId, Integer userId);
 
     List<ItemRequestForOwnerDto> getAllRequestsPageable(Integer userId, Integer from, Integer size);
+
+    CursorPage<ItemRequestForOwnerDto> getAllRequestsAfter(Integer userId, String cursor, Integer size);
 }
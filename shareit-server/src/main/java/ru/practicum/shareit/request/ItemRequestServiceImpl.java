@@ -11,15 +11,19 @@ import ru.practicum.shareit.exceptions.IncorrectParameterException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestForOwnerDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.user.UserExistenceValidator;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +32,7 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final UserRepository userRepository;
+    private final UserExistenceValidator userExistenceValidator;
     private final ItemRepository itemRepository;
     private final ItemRequestRepository itemRequestRepository;
 
@@ -43,28 +48,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestForOwnerDto> getAllItemRequestsByOwner(Integer userId) {
-        getUserById(userId);
+        userExistenceValidator.validateUserExists(userId);
         List<ItemRequest> requests = itemRequestRepository.findAllByRequestorId(userId, SORT);
 
-        List<ItemRequestForOwnerDto> requestForOwnerDtoList = new ArrayList<>();
-
-        for (ItemRequest itemRequest : requests) {
-            ItemRequestForOwnerDto itemRequestForOwnerDto = ItemRequestMapper.toItemRequestForOwnerDto(itemRequest);
-            List<ItemDto> items = itemRepository.findAllByRequestId(itemRequest.getId()).stream()
-                    .map(ItemMapper::toItemDto)
-                    .collect(Collectors.toList());
-
-            itemRequestForOwnerDto.setItems(items);
-
-            requestForOwnerDtoList.add(itemRequestForOwnerDto);
-        }
-
-        return requestForOwnerDtoList;
+        return toItemRequestForOwnerDtos(requests);
     }
 
     @Override
     public ItemRequestForOwnerDto getRequestById(Integer requestId, Integer userId) {
-        getUserById(userId);
+        userExistenceValidator.validateUserExists(userId);
         ItemRequest itemRequest = getItemRequestById(requestId);
         List<ItemDto> items = itemRepository.findAllByRequestId(requestId)
                 .stream()
@@ -77,7 +69,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestForOwnerDto> getAllRequestsPageable(Integer userId, Integer from, Integer size) {
-        getUserById(userId);
+        userExistenceValidator.validateUserExists(userId);
 
         if (from == null && size == null) {
             return Collections.emptyList();
@@ -88,24 +80,60 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
             List<ItemRequest> itemRequestPage = itemRequestRepository.findOtherRequestsByRequestorId(userId, pageable).getContent();
 
-            List<ItemRequestForOwnerDto> itemRequestForOwnerDtoList =
-                    itemRequestPage.stream()
-                            .map(ItemRequestMapper::toItemRequestForOwnerDto)
-                            .collect(Collectors.toList());
-
-            for (ItemRequestForOwnerDto request : itemRequestForOwnerDtoList) {
-                List<ItemDto> items = itemRepository.findAllByRequestId(request.getId())
-                        .stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
-                request.setItems(items);
-            }
-
-            return itemRequestForOwnerDtoList;
+            return toItemRequestForOwnerDtos(itemRequestPage);
         } else {
             log.error("Params from and size must be higher than 0");
             throw new IncorrectParameterException("Params from and size must be higher than 0");
         }
     }
 
+    @Override
+    public CursorPage<ItemRequestForOwnerDto> getAllRequestsAfter(Integer userId, String cursor, Integer size) {
+        userExistenceValidator.validateUserExists(userId);
+
+        if (size == null || size <= 0) {
+            log.error("Param size must be higher than 0");
+            throw new IncorrectParameterException("Param size must be higher than 0");
+        }
+
+        Cursor position = Cursor.decode(cursor);
+        Pageable pageable = PageRequest.ofSize(size);
+        List<ItemRequest> itemRequests = position == null
+                ? itemRequestRepository.findOtherRequestsByRequestorId(userId, pageable).getContent()
+                : itemRequestRepository.findOtherRequestsAfter(userId, position.getTimestamp(), position.getId(), pageable);
+
+        String nextCursor = null;
+        if (itemRequests.size() == size) {
+            ItemRequest lastRequest = itemRequests.get(itemRequests.size() - 1);
+            nextCursor = new Cursor(lastRequest.getCreatedDate(), lastRequest.getId()).encode();
+        }
+
+        return new CursorPage<>(toItemRequestForOwnerDtos(itemRequests), nextCursor);
+    }
+
+    private List<ItemRequestForOwnerDto> toItemRequestForOwnerDtos(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Integer> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Integer, List<ItemDto>> itemsByRequestId = itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(ItemMapper::toItemDto, Collectors.toList())));
+
+        List<ItemRequestForOwnerDto> itemRequestForOwnerDtoList = new ArrayList<>();
+
+        for (ItemRequest itemRequest : itemRequests) {
+            ItemRequestForOwnerDto itemRequestForOwnerDto = ItemRequestMapper.toItemRequestForOwnerDto(itemRequest);
+            itemRequestForOwnerDto.setItems(itemsByRequestId.getOrDefault(itemRequest.getId(), new ArrayList<>()));
+            itemRequestForOwnerDtoList.add(itemRequestForOwnerDto);
+        }
+
+        return itemRequestForOwnerDtoList;
+    }
+
     private User getUserById(Integer userId) {
         return userRepository.findById(userId).orElseThrow(() -> {
             log.error("The user with id {} is not found", userId);
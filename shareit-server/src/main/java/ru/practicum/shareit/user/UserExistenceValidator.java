@@ -0,0 +1,54 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exceptions.EntityNotFoundException;
+
+import java.time.Duration;
+
+/**
+ * Checks that a user exists without loading the user.
+ * <p>
+ * The ids of the users found are kept in a bounded cache, so repeated checks for active users do not
+ * reach the database. Only existing ids are cached, and a deleted user is forgotten by {@link UserService}.
+ * A user deleted through another server instance is forgotten here once its entry expires.
+ */
+@Component
+@Slf4j
+public class UserExistenceValidator {
+
+    private final UserRepository userRepository;
+    private final Cache<Integer, Boolean> knownUserIds;
+
+    public UserExistenceValidator(UserRepository userRepository,
+                                  @Value("${shareit.users.known-ids.maximum-size:10000}") long maximumSize,
+                                  @Value("${shareit.users.known-ids.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.knownUserIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public void validateUserExists(Integer userId) {
+        if (knownUserIds.getIfPresent(userId) != null) {
+            return;
+        }
+        if (!userRepository.existsById(userId)) {
+            log.error("The user with id {} is not found", userId);
+            throw new EntityNotFoundException("The user with id " + userId + " is not found");
+        }
+        knownUserIds.put(userId, Boolean.TRUE);
+    }
+
+    public void remember(Integer userId) {
+        knownUserIds.put(userId, Boolean.TRUE);
+    }
+
+    public void forget(Integer userId) {
+        knownUserIds.invalidate(userId);
+    }
+}
@@ -3,11 +3,19 @@ package ru.practicum.shareit.user;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.item.ItemSearchEngine;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,9 +25,14 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserExistenceValidator userExistenceValidator;
+    private final ItemSearchEngine itemSearchEngine;
+    private final EntityManagerFactory entityManagerFactory;
 
     public UserDto addUser(User user) {
         User userDto = userRepository.save(user);
+        userExistenceValidator.remember(userDto.getId());
         return UserMapper.toUserDto(userDto);
     }
 
@@ -49,9 +62,23 @@ public class UserService {
         return UserMapper.toUserDto(userDto);
     }
 
+    @Transactional
     public void deleteUserById(Integer userId) {
         User userDto = getUserById(userId);
+        // The database cascades the delete to the user's requests, which the cache does not see,
+        // so their ids are collected before the delete
+        List<Integer> requestIds = itemRequestRepository.findIdsByRequestorId(userId);
         userRepository.delete(userDto);
+        // The cache and the search index must not lose the user if the delete is rolled back
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userExistenceValidator.forget(userId);
+                Cache cache = entityManagerFactory.getCache();
+                requestIds.forEach(requestId -> cache.evict(ItemRequest.class, requestId));
+                itemSearchEngine.removeUserItems(userId);
+            }
+        });
     }
 
     private User getUserById(Integer userId) {
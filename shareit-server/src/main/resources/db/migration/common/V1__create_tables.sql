@@ -1,5 +1,3 @@
-drop table if exists users,requests,items,comments,bookings cascade;
-
 CREATE TABLE IF NOT EXISTS users
 (
     id    BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL primary key,
@@ -43,4 +41,3 @@ create table if not exists bookings
     booker_id  bigint references users (id) on delete cascade not null,
     status     varchar(10)                                    not null
 );
-
@@ -0,0 +1,11 @@
+create index if not exists bookings_item_id_start_date_idx on bookings (item_id, start_date, end_date);
+create index if not exists bookings_booker_id_start_date_idx on bookings (booker_id, start_date, id);
+create index if not exists bookings_item_id_status_start_date_idx on bookings (item_id, status, start_date);
+
+create index if not exists items_owner_id_idx on items (owner_id, id);
+create index if not exists items_request_id_idx on items (request_id);
+
+create index if not exists comments_item_id_idx on comments (item_id);
+
+create index if not exists requests_requestor_id_created_date_idx on requests (requestor_id, created_date);
+create index if not exists requests_created_date_id_idx on requests (created_date, id);
@@ -0,0 +1 @@
+create index if not exists bookings_status_start_date_idx on bookings (status, start_date, id);
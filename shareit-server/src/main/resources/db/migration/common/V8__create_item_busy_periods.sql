@@ -0,0 +1,9 @@
+create table if not exists item_busy_periods
+(
+    id         bigint                                         not null primary key,
+    item_id    bigint references items (id) on delete cascade not null,
+    start_date timestamp without time zone                    not null,
+    end_date   timestamp without time zone                    not null
+);
+
+create index if not exists item_busy_periods_item_id_start_date_idx on item_busy_periods (item_id, start_date, end_date);
@@ -0,0 +1,46 @@
+-- The entities take their ids from the sequences, so inserts that rely on the column default use them too
+
+alter table users alter column id drop identity;
+alter table users alter column id set default next value for users_seq;
+alter sequence users_seq restart with (
+    select greatest(coalesce(max(id), 0) + 1, (select base_value
+                                               from information_schema.sequences
+                                               where sequence_schema = current_schema
+                                                 and sequence_name = 'USERS_SEQ'))
+    from users);
+
+alter table requests alter column id drop identity;
+alter table requests alter column id set default next value for requests_seq;
+alter sequence requests_seq restart with (
+    select greatest(coalesce(max(id), 0) + 1, (select base_value
+                                               from information_schema.sequences
+                                               where sequence_schema = current_schema
+                                                 and sequence_name = 'REQUESTS_SEQ'))
+    from requests);
+
+alter table items alter column id drop identity;
+alter table items alter column id set default next value for items_seq;
+alter sequence items_seq restart with (
+    select greatest(coalesce(max(id), 0) + 1, (select base_value
+                                               from information_schema.sequences
+                                               where sequence_schema = current_schema
+                                                 and sequence_name = 'ITEMS_SEQ'))
+    from items);
+
+alter table comments alter column id drop identity;
+alter table comments alter column id set default next value for comments_seq;
+alter sequence comments_seq restart with (
+    select greatest(coalesce(max(id), 0) + 1, (select base_value
+                                               from information_schema.sequences
+                                               where sequence_schema = current_schema
+                                                 and sequence_name = 'COMMENTS_SEQ'))
+    from comments);
+
+alter table bookings alter column id drop identity;
+alter table bookings alter column id set default next value for bookings_seq;
+alter sequence bookings_seq restart with (
+    select greatest(coalesce(max(id), 0) + 1, (select base_value
+                                               from information_schema.sequences
+                                               where sequence_schema = current_schema
+                                                 and sequence_name = 'BOOKINGS_SEQ'))
+    from bookings);
@@ -0,0 +1,9 @@
+create sequence if not exists users_seq start with (select coalesce(max(id), 0) + 1 from users) increment by 50;
+
+create sequence if not exists requests_seq start with (select coalesce(max(id), 0) + 1 from requests) increment by 50;
+
+create sequence if not exists items_seq start with (select coalesce(max(id), 0) + 1 from items) increment by 50;
+
+create sequence if not exists comments_seq start with (select coalesce(max(id), 0) + 1 from comments) increment by 50;
+
+create sequence if not exists bookings_seq start with (select coalesce(max(id), 0) + 1 from bookings) increment by 50;
@@ -0,0 +1,16 @@
+create sequence if not exists item_busy_periods_seq start with 1 increment by 50;
+
+-- Merges the approved bookings of every item that overlap or touch into one busy period
+insert into item_busy_periods (id, item_id, start_date, end_date)
+select next value for item_busy_periods_seq, item_id, start_date, end_date
+from (select item_id, min(start_date) as start_date, max(end_date) as end_date
+      from (select item_id, start_date, end_date,
+                   sum(case when start_date <= previous_end then 0 else 1 end)
+                       over (partition by item_id order by start_date, end_date rows unbounded preceding) as period
+            from (select item_id, start_date, end_date,
+                         max(end_date) over (partition by item_id order by start_date, end_date
+                             rows between unbounded preceding and 1 preceding) as previous_end
+                  from bookings
+                  where status = 'APPROVED') as approved) as numbered
+      group by item_id, period
+      order by item_id, start_date) as merged;
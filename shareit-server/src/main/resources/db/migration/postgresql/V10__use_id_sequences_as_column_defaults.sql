@@ -0,0 +1,26 @@
+-- The entities take their ids from the sequences, so inserts that rely on the column default use them too
+
+alter table users alter column id drop identity if exists;
+alter table users alter column id set default nextval('users_seq');
+alter sequence users_seq owned by users.id;
+select setval('users_seq', greatest(coalesce(max(id), 0), (select last_value from users_seq))) from users;
+
+alter table requests alter column id drop identity if exists;
+alter table requests alter column id set default nextval('requests_seq');
+alter sequence requests_seq owned by requests.id;
+select setval('requests_seq', greatest(coalesce(max(id), 0), (select last_value from requests_seq))) from requests;
+
+alter table items alter column id drop identity if exists;
+alter table items alter column id set default nextval('items_seq');
+alter sequence items_seq owned by items.id;
+select setval('items_seq', greatest(coalesce(max(id), 0), (select last_value from items_seq))) from items;
+
+alter table comments alter column id drop identity if exists;
+alter table comments alter column id set default nextval('comments_seq');
+alter sequence comments_seq owned by comments.id;
+select setval('comments_seq', greatest(coalesce(max(id), 0), (select last_value from comments_seq))) from comments;
+
+alter table bookings alter column id drop identity if exists;
+alter table bookings alter column id set default nextval('bookings_seq');
+alter sequence bookings_seq owned by bookings.id;
+select setval('bookings_seq', greatest(coalesce(max(id), 0), (select last_value from bookings_seq))) from bookings;
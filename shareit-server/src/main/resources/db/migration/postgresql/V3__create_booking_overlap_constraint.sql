@@ -0,0 +1,34 @@
+create extension if not exists btree_gist;
+
+-- Databases created before this migration may already hold overlapping approved bookings of an item.
+-- They are not changed here: the migration lists them and fails until they are resolved by hand.
+do
+$$
+    declare
+        conflict  record;
+        conflicts bigint := 0;
+    begin
+        for conflict in select later.id, later.item_id, earlier.id as overlaps_with
+                        from bookings later
+                                 join bookings earlier on earlier.item_id = later.item_id and earlier.id < later.id
+                        where later.status = 'APPROVED'
+                          and earlier.status = 'APPROVED'
+                          and tsrange(earlier.start_date, earlier.end_date) &&
+                              tsrange(later.start_date, later.end_date)
+                        order by later.id, earlier.id
+            loop
+                conflicts := conflicts + 1;
+                raise warning 'Approved booking % of item % overlaps approved booking %',
+                    conflict.id, conflict.item_id, conflict.overlaps_with;
+            end loop;
+        if conflicts > 0 then
+            raise exception '% pairs of approved bookings overlap, resolve them before adding the constraint',
+                conflicts;
+        end if;
+    end
+$$;
+
+alter table bookings
+    add constraint bookings_approved_no_overlap
+        exclude using gist (item_id with =, tsrange(start_date, end_date) with &&)
+        where (status = 'APPROVED');
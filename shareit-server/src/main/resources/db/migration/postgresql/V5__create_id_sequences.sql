@@ -0,0 +1,14 @@
+create sequence if not exists users_seq increment by 50;
+select setval('users_seq', coalesce(max(id), 0) + 1, false) from users;
+
+create sequence if not exists requests_seq increment by 50;
+select setval('requests_seq', coalesce(max(id), 0) + 1, false) from requests;
+
+create sequence if not exists items_seq increment by 50;
+select setval('items_seq', coalesce(max(id), 0) + 1, false) from items;
+
+create sequence if not exists comments_seq increment by 50;
+select setval('comments_seq', coalesce(max(id), 0) + 1, false) from comments;
+
+create sequence if not exists bookings_seq increment by 50;
+select setval('bookings_seq', coalesce(max(id), 0) + 1, false) from bookings;
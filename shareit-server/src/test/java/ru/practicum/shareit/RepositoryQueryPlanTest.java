@@ -0,0 +1,316 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.State;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemBusyPeriodRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the repository queries against seeded data and checks with EXPLAIN, bound to the values the repositories
+ * passed, that every statement reads the tables through index conditions rather than whole tables or indexes.
+ */
+@DataJpaTest
+@Import(RepositoryQueryPlanTest.RecordingDataSourceConfiguration.class)
+class RepositoryQueryPlanTest {
+
+    private static final int USERS = 100;
+    private static final int ITEMS_PER_USER = 5;
+    private static final int BOOKINGS_PER_ITEM = 10;
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final Pattern INDEX_CONDITION = Pattern.compile("/\\* PUBLIC\\.\\w+: ");
+    private static final Pattern WHOLE_INDEX_READ = Pattern.compile("/\\* PUBLIC\\.\\w+ \\*/");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemBusyPeriodRepository itemBusyPeriodRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // analyze commits the seeded rows, so the tests of this class share them
+        if (jdbcTemplate.queryForObject("select count(*) from users", Integer.class) == 0) {
+            seed();
+            jdbcTemplate.execute("analyze");
+        }
+        entityManager.clear();
+    }
+
+    @Test
+    void bookingQueriesUseIndexes() {
+        assertReadsIndexes(() -> bookingRepository.findAllByItemId(1, Sort.by("startDate")));
+        assertReadsIndexes(() -> bookingRepository.findOverlappingBookings(List.of(1, 2, 3), Status.APPROVED, NOW,
+                NOW.plusDays(7)));
+        assertReadsIndexes(() -> bookingRepository.existsByItemIdAndStatusAndStartDateBeforeAndEndDateAfter(1,
+                Status.APPROVED, NOW.plusDays(1), NOW));
+        assertReadsIndexes(() -> bookingRepository.findLastBookings(List.of(1, 2, 3), Status.APPROVED, NOW));
+        assertReadsIndexes(() -> bookingRepository.findNextBookings(List.of(1, 2, 3), Status.APPROVED, NOW));
+        assertReadsIndexes(() -> bookingRepository.findIdsByStatusAndStartDateBefore(Status.WAITING, NOW,
+                Pageable.ofSize(100)));
+        assertReadsIndexes(() -> bookingRepository.findOldestStartDate(Status.WAITING, NOW));
+        assertReadsIndexes(() -> bookingRepository.findStatusesByIdIn(List.of(1, 2, 3)));
+        assertReadsIndexes(() -> bookingRepository.lockIdsByIdInAndStatus(List.of(1, 2, 3), Status.WAITING));
+    }
+
+    @Test
+    void bookingListQueriesUseIndexes() {
+        Pageable pageable = PageRequest.of(1, 10);
+        Cursor cursor = new Cursor(NOW, 100);
+        for (State state : State.values()) {
+            assertReadsIndexes(() -> bookingRepository.findBookerBookings(1, state, NOW, pageable));
+            assertReadsIndexes(() -> bookingRepository.findOwnerBookings(1, state, NOW, pageable));
+            assertReadsIndexes(() -> bookingRepository.findBookerPage(1, state, NOW, cursor, 10));
+            assertReadsIndexes(() -> bookingRepository.findOwnerPage(1, state, NOW, cursor, 10));
+        }
+    }
+
+    @Test
+    void itemQueriesUseIndexes() {
+        assertReadsIndexes(() -> itemRepository.findAllByOwnerId(1, PageRequest.of(0, 10, Sort.by("id"))));
+        assertReadsIndexes(() -> itemRepository.findAllByRequestId(1));
+        assertReadsIndexes(() -> itemRepository.findAllByRequestIdIn(List.of(1, 2, 3)));
+        assertReadsIndexes(() -> itemRepository.findAllByIdGreaterThanOrderByIdAsc(100, Pageable.ofSize(10)));
+        assertReadsIndexes(() -> itemRepository.findAllByIdIn(List.of(1, 2, 3)));
+        assertReadsIndexes(() -> itemRepository.lockIdsByIdIn(List.of(1, 2, 3)));
+        // only the trigram indexes of PostgreSQL serve the substring match, H2 reads the bounded candidates by id
+        assertReadsSortedIndex(() -> itemRepository.findByText("item1", 1000, Pageable.ofSize(10)));
+
+        assertReadsIndexes(() -> itemBusyPeriodRepository.findOverlappingPeriods(1, NOW, NOW.plusDays(7)));
+        assertReadsIndexes(() -> itemBusyPeriodRepository.findTouchingPeriods(List.of(1, 2, 3), NOW, NOW.plusDays(7)));
+
+        assertReadsIndexes(() -> commentRepository.findAllByItemId(1));
+        assertReadsIndexes(() -> commentRepository.findAllByItemIdIn(List.of(1, 2, 3)));
+    }
+
+    @Test
+    void requestQueriesUseIndexes() {
+        assertReadsIndexes(() -> itemRequestRepository.findAllByRequestorId(1, Sort.by("createdDate")));
+        assertReadsIndexes(() -> itemRequestRepository.findIdsByRequestorId(1));
+        assertReadsSortedIndex(() -> itemRequestRepository.findOtherRequestsByRequestorId(1, Pageable.ofSize(10)));
+        assertReadsSortedIndex(() -> itemRequestRepository.findOtherRequestsAfter(1, NOW.minusDays(1), 10,
+                Pageable.ofSize(10)));
+    }
+
+    private void assertReadsIndexes(Runnable query) {
+        explain(query).forEach(this::assertReadsIndexes);
+    }
+
+    /**
+     * Allows the query itself to read an index from its start when the rows come in the order of the page and the read
+     * stops at its end. The statements loading the associations still have to read indexes by conditions.
+     */
+    private void assertReadsSortedIndex(Runnable query) {
+        List<String> plans = explain(query);
+        String plan = plans.get(0);
+        assertTrue(plan.contains("/* index sorted */") && plan.contains("FETCH FIRST"),
+                "Reads no index in the order of the page: " + plan);
+        plans.subList(1, plans.size()).forEach(this::assertReadsIndexes);
+    }
+
+    private void assertReadsIndexes(String plan) {
+        assertTrue(INDEX_CONDITION.matcher(plan).find(), "Reads no index by a condition: " + plan);
+        assertFalse(WHOLE_INDEX_READ.matcher(plan).find(), "Reads a whole index: " + plan);
+    }
+
+    private List<String> explain(Runnable query) {
+        RecordingDataSourceConfiguration.STATEMENTS.clear();
+        query.run();
+        entityManager.clear();
+        List<ExecutedStatement> statements = new ArrayList<>(RecordingDataSourceConfiguration.STATEMENTS);
+        assertFalse(statements.isEmpty(), "The query ran no select statement");
+
+        List<String> plans = new ArrayList<>();
+        for (ExecutedStatement statement : statements) {
+            String plan = explain(statement);
+            assertFalse(plan.contains(".tableScan"), "Reads a whole table: " + plan);
+            plans.add(plan);
+        }
+        return plans;
+    }
+
+    private String explain(ExecutedStatement statement) {
+        return jdbcTemplate.query("explain " + statement.sql,
+                ps -> {
+                    for (Map.Entry<Integer, Object> parameter : statement.parameters.entrySet()) {
+                        ps.setObject(parameter.getKey(), parameter.getValue());
+                    }
+                },
+                rs -> {
+                    StringBuilder plan = new StringBuilder();
+                    while (rs.next()) {
+                        plan.append(rs.getString(1));
+                    }
+                    return plan.toString();
+                });
+    }
+
+    private void seed() {
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> requests = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        Status[] statuses = Status.values();
+
+        for (int userId = 1; userId <= USERS; userId++) {
+            users.add(new Object[]{userId, "user" + userId, "user" + userId + "@mail.ru"});
+            requests.add(new Object[]{userId, "request" + userId, userId, timestamp(NOW.minusHours(userId))});
+        }
+        int itemId = 0;
+        int bookingId = 0;
+        for (int ownerId = 1; ownerId <= USERS; ownerId++) {
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                itemId++;
+                Integer requestId = itemId % 3 == 0 ? ownerId % USERS + 1 : null;
+                items.add(new Object[]{itemId, "item" + itemId, "description" + itemId, true, ownerId, requestId});
+                comments.add(new Object[]{itemId, "comment" + itemId, timestamp(NOW), itemId, ownerId % USERS + 1});
+                for (int b = 0; b < BOOKINGS_PER_ITEM; b++) {
+                    bookingId++;
+                    LocalDateTime start = NOW.plusDays(b - BOOKINGS_PER_ITEM / 2);
+                    bookings.add(new Object[]{bookingId, timestamp(start), timestamp(start.plusHours(12)), itemId,
+                            (ownerId + b) % USERS + 1, statuses[b % statuses.length].name()});
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate("insert into users (id, name, email) values (?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("insert into requests (id, description, requestor_id, created_date) values (?, ?, ?, ?)",
+                requests);
+        jdbcTemplate.batchUpdate("insert into items (id, name, description, is_available, owner_id, request_id) "
+                + "values (?, ?, ?, ?, ?, ?)", items);
+        jdbcTemplate.batchUpdate("insert into comments (id, text, created_date, item_id, author_id) values (?, ?, ?, ?, ?)",
+                comments);
+        jdbcTemplate.batchUpdate("insert into bookings (id, start_date, end_date, item_id, booker_id, status) "
+                + "values (?, ?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.update("insert into item_busy_periods (id, item_id, start_date, end_date) "
+                + "select id, item_id, start_date, end_date from bookings where status = 'APPROVED'");
+    }
+
+    private Timestamp timestamp(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime);
+    }
+
+    private static class ExecutedStatement {
+
+        private final String sql;
+        private final Map<Integer, Object> parameters;
+
+        private ExecutedStatement(String sql, Map<Integer, Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
+
+    /**
+     * Wraps the data source to record the selects the repositories run together with the values bound to them.
+     */
+    @TestConfiguration
+    static class RecordingDataSourceConfiguration {
+
+        static final List<ExecutedStatement> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource)) {
+                        return bean;
+                    }
+                    return proxy(DataSource.class, bean, (method, result, args) -> method.getName().equals("getConnection")
+                            ? recordingConnection((Connection) result) : result);
+                }
+            };
+        }
+
+        private static Connection recordingConnection(Connection connection) {
+            return proxy(Connection.class, connection, (method, result, args) -> {
+                if (!method.getName().equals("prepareStatement")) {
+                    return result;
+                }
+                String sql = (String) args[0];
+                Map<Integer, Object> parameters = new TreeMap<>();
+                return proxy(PreparedStatement.class, result, (statementMethod, statementResult, statementArgs) -> {
+                    String name = statementMethod.getName();
+                    if (name.startsWith("set") && statementArgs != null && statementArgs.length >= 2
+                            && statementArgs[0] instanceof Integer) {
+                        parameters.put((Integer) statementArgs[0], name.equals("setNull") ? null : statementArgs[1]);
+                    } else if (name.startsWith("execute") && sql.trim().toLowerCase().startsWith("select")) {
+                        STATEMENTS.add(new ExecutedStatement(sql, new TreeMap<>(parameters)));
+                    }
+                    return statementResult;
+                });
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, Object target, ResultHandler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                return handler.handle(method, result, args);
+            }));
+        }
+
+        private interface ResultHandler {
+
+            Object handle(Method method, Object result, Object[] args);
+        }
+    }
+}
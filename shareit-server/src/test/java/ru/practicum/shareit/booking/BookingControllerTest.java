@@ -9,13 +9,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingBatchDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -64,6 +72,59 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createBookingsSuccess() throws Exception {
+        BookingBatchResultDto result = BookingBatchResultDto.builder()
+                .result(BatchResult.CREATED)
+                .booking(bookingDto)
+                .build();
+        when(bookingService.createBookings(anyList(), anyInt())).thenReturn(List.of(result));
+
+        mvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .content(objectMapper.writeValueAsString(BookingBatchDto.builder()
+                                .bookings(List.of(bookingDto))
+                                .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].result").value("CREATED"))
+                .andExpect(jsonPath("$[0].booking.id").value(bookingDto.getId()));
+    }
+
+    @Test
+    void createBookingsThrows400WhenBatchIsEmpty() throws Exception {
+        mvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .content(objectMapper.writeValueAsString(BookingBatchDto.builder()
+                                .bookings(List.of())
+                                .build())))
+                .andExpect(status().isBadRequest());
+        verify(bookingService, never()).createBookings(anyList(), anyInt());
+    }
+
+    @Test
+    void updateBookingsSuccess() throws Exception {
+        BookingDecisionResultDto result = BookingDecisionResultDto.builder()
+                .bookingId(1)
+                .result(BatchResult.UPDATED)
+                .status(Status.APPROVED)
+                .build();
+        when(bookingService.updateBookings(List.of(1), true, 1)).thenReturn(List.of(result));
+
+        mvc.perform(patch("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("approved", "true")
+                        .content(objectMapper.writeValueAsString(BookingDecisionDto.builder()
+                                .bookingIds(List.of(1))
+                                .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId").value(1))
+                .andExpect(jsonPath("$[0].result").value("UPDATED"))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"));
+    }
+
     @Test
     void updateBookingSuccess() throws Exception {
         when(bookingService.updateBooking(anyInt(), anyBoolean(), anyInt())).thenReturn(bookingDto);
@@ -114,4 +175,17 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].id").value(bookingDto.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookingsByItemOwnerWithCursorReturnsNextCursor() throws Exception {
+        when(bookingService.getAllByOwnerIdAfter(anyInt(), anyString(), anyString(), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), "next"));
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].id").value(bookingDto.getId()));
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExpirySchedulerTest {
+
+    private BookingExpiryScheduler bookingExpiryScheduler;
+
+    private MeterRegistry meterRegistry;
+
+    @Mock
+    private BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookingExpiryScheduler = new BookingExpiryScheduler(bookingService, meterRegistry, 10, 3);
+    }
+
+    @Test
+    void expireWaitingBookingsRunsBatchesUntilBatchIsShort() {
+        when(bookingService.expireWaitingBookings(any(LocalDateTime.class), eq(10))).thenReturn(10, 4);
+        when(bookingService.getExpiryLag(any(LocalDateTime.class))).thenReturn(Duration.ZERO);
+
+        bookingExpiryScheduler.expireWaitingBookings();
+
+        verify(bookingService, times(2)).expireWaitingBookings(any(LocalDateTime.class), eq(10));
+        assertEquals(14, meterRegistry.get("shareit.bookings.expired").counter().count());
+        assertEquals(0, meterRegistry.get("shareit.bookings.expiry.lag").gauge().value());
+    }
+
+    @Test
+    void expireWaitingBookingsStopsAfterMaxBatchesAndReportsLag() {
+        when(bookingService.expireWaitingBookings(any(LocalDateTime.class), eq(10))).thenReturn(10);
+        when(bookingService.getExpiryLag(any(LocalDateTime.class))).thenReturn(Duration.ofMinutes(5));
+
+        bookingExpiryScheduler.expireWaitingBookings();
+
+        verify(bookingService, times(3)).expireWaitingBookings(any(LocalDateTime.class), eq(10));
+        assertEquals(30, meterRegistry.get("shareit.bookings.expired").counter().count());
+        assertEquals(300, meterRegistry.get("shareit.bookings.expiry.lag").gauge().value());
+    }
+}
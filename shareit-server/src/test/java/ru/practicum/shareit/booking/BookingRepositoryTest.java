@@ -1,21 +1,42 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingListDto;
+import ru.practicum.shareit.booking.dto.ItemShortBookingDto;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
@@ -30,6 +51,15 @@ class BookingRepositoryTest {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private User user1;
     private User user2;
     private Item item1;
@@ -45,115 +75,90 @@ class BookingRepositoryTest {
         pageable = Pageable.ofSize(10);
     }
 
-    @Test
-    void findAllByBookerIdCurrent() {
-        user1 = createUser(1, "Name", "name@mail.ru");
-        item1 = createItem(1, "Name", "Description", true, user1, null);
-        item2 = createItem(2, "NewName", "NewDescription", true, user1, null);
-        booking1 = createBooking(1, LocalDateTime.now(), LocalDateTime.now().plusHours(1),
-                item1, user1, Status.WAITING);
-        booking2 = createBooking(2, LocalDateTime.now(), LocalDateTime.now().plusMinutes(5),
-                item2, user1, Status.WAITING);
-
-        List<Booking> bookings = bookingRepository.findAllByBookerIdCurrent(user1.getId(), LocalDateTime.now().plusMinutes(30), pageable);
-        assertEquals(1, bookings.size());
-        assertEquals(booking1, bookings.get(0));
-
-        List<Booking> emptyBookings = bookingRepository.findAllByBookerIdCurrent(10, LocalDateTime.now(), pageable);
-        assertTrue(emptyBookings.isEmpty());
+    @BeforeEach
+    void evictSecondLevelCache() {
+        // Rolled back test transactions leave the entities they loaded in the second-level cache
+        entityManagerFactory.getCache().evictAll();
     }
 
     @Test
-    public void findAllByBookerIdCurrentWithoutBookings() {
-        user1 = createUser(1, "Name", "name@mail.ru");
-        List<Booking> bookings = bookingRepository.findAllByBookerIdCurrent(user1.getId(), LocalDateTime.now().plusMinutes(30), pageable);
-        assertTrue(bookings.isEmpty());
+    void findBookingsFiltersEveryStateForBookerAndOwner() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Map<State, List<Integer>> expected = createStateMatrix(now);
+
+        for (State state : State.values()) {
+            assertEquals(expected.get(state), ids(bookingRepository.findBookerBookings(user2.getId(), state, now,
+                    pageable)), "booker, " + state);
+            assertEquals(expected.get(state), ids(bookingRepository.findOwnerBookings(user1.getId(), state, now,
+                    pageable)), "owner, " + state);
+        }
+
+        assertTrue(bookingRepository.findBookerBookings(user1.getId(), State.PAST, now, pageable).isEmpty());
+        assertTrue(bookingRepository.findOwnerBookings(user2.getId(), State.FUTURE, now, pageable).isEmpty());
+        assertTrue(bookingRepository.findBookerBookings(-1, State.ALL, now, pageable).isEmpty());
+        assertTrue(bookingRepository.findOwnerBookings(-1, State.ALL, now, pageable).isEmpty());
     }
 
     @Test
-    void findAllByBookerIdAndEndDateIsBefore() {
-        user1 = createUser(1, "Name", "name@mail.ru");
-        item1 = createItem(1, "Name", "Description", true, user1, null);
-        item2 = createItem(2, "NewName", "NewDescription", true, user1, null);
-        booking1 = createBooking(1, LocalDateTime.now(), LocalDateTime.now().plusHours(1),
-                item1, user1, Status.WAITING);
-        booking2 = createBooking(2, LocalDateTime.now(), LocalDateTime.now().plusMinutes(5),
-                item2, user1, Status.WAITING);
-
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndEndDateIsBefore(user1.getId(), LocalDateTime.now().plusMinutes(30), pageable);
-        assertEquals(1, bookings.size());
-        assertEquals(booking2, bookings.get(0));
-
-        List<Booking> emptyBookings = bookingRepository.findAllByBookerIdAndEndDateIsBefore(10, LocalDateTime.now(), pageable);
-        assertTrue(emptyBookings.isEmpty());
+    void findBookingsPagesByOffsetLikeCursor() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Map<State, List<Integer>> expected = createStateMatrix(now);
+
+        for (State state : State.values()) {
+            List<BookingListDto> bookerByOffset = new ArrayList<>();
+            List<BookingListDto> ownerByOffset = new ArrayList<>();
+            for (int page = 0; page < expected.get(State.ALL).size(); page++) {
+                bookerByOffset.addAll(bookingRepository.findBookerBookings(user2.getId(), state, now,
+                        PageRequest.of(page, 1)));
+                ownerByOffset.addAll(bookingRepository.findOwnerBookings(user1.getId(), state, now,
+                        PageRequest.of(page, 1)));
+            }
+            List<BookingListDto> bookerByCursor = scroll(cursor -> bookingRepository.findBookerPage(user2.getId(),
+                    state, now, cursor, 1));
+            List<BookingListDto> ownerByCursor = scroll(cursor -> bookingRepository.findOwnerPage(user1.getId(),
+                    state, now, cursor, 1));
+
+            assertEquals(expected.get(state), ids(bookerByOffset), "booker by offset, " + state);
+            assertEquals(expected.get(state), ids(ownerByOffset), "owner by offset, " + state);
+            assertEquals(expected.get(state), ids(bookerByCursor), "booker by cursor, " + state);
+            assertEquals(expected.get(state), ids(ownerByCursor), "owner by cursor, " + state);
+        }
     }
 
     @Test
-    void findAllByBookerIdAndEndDateIsBeforeWithoutBookings() {
-        user1 = createUser(1, "Name", "name@mail.ru");
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndEndDateIsBefore(user1.getId(), LocalDateTime.now().plusMinutes(30), pageable);
-        assertTrue(bookings.isEmpty());
+    void findBookingsSelectsRowsWithoutLoadingEntities() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        createStateMatrix(now);
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Description")
+                .requestor(user2)
+                .createdDate(now)
+                .build());
+        Item requestedItem = createItem(3, "Requested", "Requested description", false, user1, request);
+        Booking requestedBooking = createBooking(6, now.plusDays(5), now.plusDays(6), requestedItem, user2,
+                Status.APPROVED);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (State state : State.values()) {
+            statistics.clear();
+            bookingRepository.findOwnerBookings(user1.getId(), state, now, pageable);
+            bookingRepository.findBookerPage(user2.getId(), state, now, null, 10);
+
+            assertEquals(2, statistics.getPrepareStatementCount(), state.name());
+            assertEquals(0, statistics.getEntityLoadCount(), state.name());
+        }
+
+        BookingListDto latest = bookingRepository.findOwnerBookings(user1.getId(), State.ALL, now, pageable).get(0);
+        assertEquals(new BookingListDto(requestedBooking.getId(), now.plusDays(5), now.plusDays(6), Status.APPROVED,
+                requestedItem.getId(), "Requested", "Requested description", false, user1.getId(), request.getId(),
+                user2.getId(), "Name2", "name2@mail.ru"), latest);
     }
 
     @Test
-    void findAllByBookerIdAndStartDateIsAfter() {
-        user1 = createUser(1, "Name", "name@mail.ru");
-        item1 = createItem(1, "Name", "Description", true, user1, null);
-        item2 = createItem(2, "NewName", "NewDescription", true, user1, null);
-        booking1 = createBooking(1, LocalDateTime.now().plusMinutes(30), LocalDateTime.now().plusHours(1),
-                item1, user1, Status.WAITING);
-        booking2 = createBooking(2, LocalDateTime.now(), LocalDateTime.now().plusMinutes(5),
-                item2, user1, Status.WAITING);
-
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStartDateIsAfter(user1.getId(), LocalDateTime.now().plusMinutes(20), pageable);
-        assertEquals(1, bookings.size());
-        assertEquals(booking1, bookings.get(0));
-
-        List<Booking> emptyBookings = bookingRepository.findAllByBookerIdAndStartDateIsAfter(20, LocalDateTime.now().plusMinutes(30), pageable);
-        assertTrue(emptyBookings.isEmpty());
-    }
-
-    @Test
-    void findAllByBookerIdAndStartDateIsAfterWithoutBookings() {
-        user1 = createUser(1, "Name", "name@mail.ru");
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStartDateIsAfter(user1.getId(), LocalDateTime.now().plusMinutes(30), pageable);
-        assertTrue(bookings.isEmpty());
-    }
-
-    @Test
-    void findAllByBookerIdAndStatus() {
-        user1 = createUser(1, "Name", "name@mail.ru");
-        item1 = createItem(1, "Name", "Description", true, user1, null);
-        item2 = createItem(2, "NewName", "NewDescription", true, user1, null);
-        booking1 = createBooking(1, LocalDateTime.now().plusMinutes(30), LocalDateTime.now().plusHours(1),
-                item1, user1, Status.WAITING);
-        booking2 = createBooking(2, LocalDateTime.now(), LocalDateTime.now().plusMinutes(5),
-                item2, user1, Status.APPROVED);
-
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStatus(user1.getId(), Status.APPROVED, pageable);
-        assertEquals(1, bookings.size());
-        assertEquals(booking2, bookings.get(0));
-
-        List<Booking> newBookings = bookingRepository.findAllByBookerIdAndStatus(user1.getId(), Status.WAITING, pageable);
-        assertEquals(1, newBookings.size());
-        assertEquals(booking1, newBookings.get(0));
-
-        List<Booking> emptyBookings = bookingRepository.findAllByBookerIdAndStatus(user1.getId(), Status.REJECTED, pageable);
-        assertTrue(emptyBookings.isEmpty());
-
-        List<Booking> emptyBookings2 = bookingRepository.findAllByBookerIdAndStatus(20, Status.APPROVED, pageable);
-        assertTrue(emptyBookings2.isEmpty());
-    }
-
-    @Test
-    void findAllByBookerIdAndStatusWithoutBookings() {
-        user1 = createUser(1, "Name", "name@mail.ru");
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStatus(user1.getId(), Status.APPROVED, pageable);
-        assertTrue(bookings.isEmpty());
-    }
-
-    @Test
-    void findAllByBookerId() {
+    void findAllByItemId() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "id");
         user1 = createUser(1, "Name", "name@mail.ru");
         item1 = createItem(1, "Name", "Description", true, user1, null);
         item2 = createItem(2, "NewName", "NewDescription", true, user1, null);
@@ -162,226 +167,226 @@ class BookingRepositoryTest {
         booking2 = createBooking(2, LocalDateTime.now(), LocalDateTime.now().plusMinutes(5),
                 item2, user1, Status.APPROVED);
 
-        List<Booking> bookings = bookingRepository.findAllByBookerId(user1.getId(), pageable);
-        assertEquals(2, bookings.size());
-        assertEquals(booking1, bookings.get(0));
-        assertEquals(booking2, bookings.get(1));
-
-        List<Booking> emptyBookings = bookingRepository.findAllByBookerId(10, pageable);
-        assertTrue(emptyBookings.isEmpty());
-    }
-
-    @Test
-    void findAllByBookerIdWithoutBookings() {
-        user1 = createUser(1, "Name", "name@mail.ru");
-        List<Booking> emptyBookings = bookingRepository.findAllByBookerId(user1.getId(), pageable);
-        assertTrue(emptyBookings.isEmpty());
-    }
-
-    @Test
-    void findAllByItemOwner() {
-        user1 = createUser(1, "Name", "name@mail.ru");
-        user2 = createUser(2, "Name2", "name2@mail.ru");
-        item1 = createItem(1, "Name", "Description", true, user1, null);
-        item2 = createItem(2, "NewName", "NewDescription", true, user2, null);
-        booking1 = createBooking(1, LocalDateTime.now().plusMinutes(30), LocalDateTime.now().plusHours(1),
-                item1, user1, Status.WAITING);
-        booking2 = createBooking(2, LocalDateTime.now(), LocalDateTime.now().plusMinutes(5),
-                item2, user1, Status.APPROVED);
-
-        List<Booking> bookings = bookingRepository.findAllByItemOwner(item1.getOwner().getId(), pageable);
+        List<Booking> bookings = bookingRepository.findAllByItemId(item1.getId(), sort);
         assertEquals(1, bookings.size());
         assertEquals(booking1, bookings.get(0));
 
-        List<Booking> newBookings = bookingRepository.findAllByItemOwner(item2.getOwner().getId(), pageable);
+        List<Booking> newBookings = bookingRepository.findAllByItemId(item2.getId(), sort);
         assertEquals(1, newBookings.size());
         assertEquals(booking2, newBookings.get(0));
 
-        List<Booking> emptyBookings = bookingRepository.findAllByItemOwner(20, pageable);
+        List<Booking> emptyBookings = bookingRepository.findAllByItemId(10, sort);
         assertTrue(emptyBookings.isEmpty());
     }
 
     @Test
-    void findAllByItemOwnerWithoutBookings() {
+    void findAllByItemIdWithoutBookings() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "id");
         user1 = createUser(1, "Name", "name@mail.ru");
         item1 = createItem(1, "Name", "Description", true, user1, null);
-        List<Booking> emptyBookings = bookingRepository.findAllByItemOwner(item1.getOwner().getId(), pageable);
+        List<Booking> emptyBookings = bookingRepository.findAllByItemId(item1.getId(), sort);
         assertTrue(emptyBookings.isEmpty());
     }
 
     @Test
-    void findAllCurrentBookingByOwnerId() {
+    void findLastAndNextBookings() {
+        LocalDateTime now = LocalDateTime.now();
         user1 = createUser(1, "Name", "name@mail.ru");
         user2 = createUser(2, "Name2", "name2@mail.ru");
         item1 = createItem(1, "Name", "Description", true, user1, null);
-        item2 = createItem(2, "NewName", "NewDescription", true, user2, null);
-        booking1 = createBooking(1, LocalDateTime.now(), LocalDateTime.now().plusHours(1),
-                item1, user1, Status.WAITING);
-        booking2 = createBooking(2, LocalDateTime.now(), LocalDateTime.now().plusHours(1),
-                item2, user2, Status.WAITING);
-        booking3 = createBooking(3, LocalDateTime.now(), LocalDateTime.now().plusMinutes(5),
-                item2, user1, Status.WAITING);
-
-        List<Booking> bookings = bookingRepository.findAllCurrentBookingByOwnerId(item1.getOwner().getId(), LocalDateTime.now().plusMinutes(30), pageable);
-        assertEquals(1, bookings.size());
-        assertEquals(booking1, bookings.get(0));
-
-        List<Booking> newBookings = bookingRepository.findAllCurrentBookingByOwnerId(item2.getOwner().getId(), LocalDateTime.now().plusMinutes(30), pageable);
-        assertEquals(1, newBookings.size());
-        assertEquals(booking2, newBookings.get(0));
-
-        List<Booking> emptyBookings = bookingRepository.findAllCurrentBookingByOwnerId(10, LocalDateTime.now(), pageable);
-        assertTrue(emptyBookings.isEmpty());
-    }
-
-    @Test
-    void findAllCurrentBookingByOwnerIdWithoutBookings() {
-        user1 = createUser(1, "Name", "name@mail.ru");
-        item1 = createItem(1, "Name", "Description", true, user1, null);
-
-        List<Booking> emptyBookings = bookingRepository.findAllCurrentBookingByOwnerId(item1.getOwner().getId(), LocalDateTime.now(), pageable);
-        assertTrue(emptyBookings.isEmpty());
+        item2 = createItem(2, "NewName", "NewDescription", true, user1, null);
+        createBooking(1, now.minusDays(3), now.minusDays(2), item1, user2, Status.APPROVED);
+        booking1 = createBooking(2, now.minusDays(1), now.minusHours(1), item1, user2, Status.APPROVED);
+        createBooking(3, now.minusHours(2), now.minusHours(1), item1, user2, Status.REJECTED);
+        booking2 = createBooking(4, now.plusDays(1), now.plusDays(2), item1, user2, Status.APPROVED);
+        createBooking(5, now.plusDays(3), now.plusDays(4), item1, user2, Status.APPROVED);
+        booking3 = createBooking(6, now.plusHours(1), now.plusHours(2), item2, user2, Status.APPROVED);
+
+        List<ItemShortBookingDto> lastBookings = bookingRepository.findLastBookings(
+                List.of(item1.getId(), item2.getId()), Status.APPROVED, now);
+        assertEquals(1, lastBookings.size());
+        assertEquals(item1.getId(), lastBookings.get(0).getItemId());
+        assertEquals(booking1.getId(), lastBookings.get(0).getId());
+        assertEquals(user2.getId(), lastBookings.get(0).getBookerId());
+
+        List<ItemShortBookingDto> nextBookings = bookingRepository.findNextBookings(
+                List.of(item1.getId(), item2.getId()), Status.APPROVED, now);
+        assertEquals(2, nextBookings.size());
+        assertTrue(nextBookings.stream().anyMatch(booking -> booking.getId().equals(booking2.getId())
+                && booking.getItemId().equals(item1.getId())));
+        assertTrue(nextBookings.stream().anyMatch(booking -> booking.getId().equals(booking3.getId())
+                && booking.getItemId().equals(item2.getId())));
+
+        assertTrue(bookingRepository.findLastBookings(List.of(10), Status.APPROVED, now).isEmpty());
+        assertTrue(bookingRepository.findNextBookings(List.of(10), Status.APPROVED, now).isEmpty());
     }
 
     @Test
-    void findAllByItemOwnerIdAndEndDateIsBefore() {
+    void existsOverlappingApprovedBooking() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
         user1 = createUser(1, "Name", "name@mail.ru");
-        user2 = createUser(2, "Name2", "name2@mail.ru");
         item1 = createItem(1, "Name", "Description", true, user1, null);
-        item2 = createItem(2, "NewName", "NewDescription", true, user2, null);
-        booking1 = createBooking(1, LocalDateTime.now(), LocalDateTime.now().plusMinutes(5),
-                item1, user1, Status.WAITING);
-        booking2 = createBooking(2, LocalDateTime.now(), LocalDateTime.now().plusHours(1),
-                item2, user2, Status.WAITING);
-        booking3 = createBooking(3, LocalDateTime.now(), LocalDateTime.now().plusMinutes(5),
-                item2, user1, Status.WAITING);
-
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndEndDateIsBefore(item1.getOwner().getId(), LocalDateTime.now().plusMinutes(30), pageable);
-        assertEquals(1, bookings.size());
-        assertEquals(booking1, bookings.get(0));
-
-        List<Booking> newBookings = bookingRepository.findAllByItemOwnerIdAndEndDateIsBefore(item2.getOwner().getId(), LocalDateTime.now().plusMinutes(30), pageable);
-        assertEquals(1, newBookings.size());
-        assertEquals(booking3, newBookings.get(0));
-
-        List<Booking> emptyBookings = bookingRepository.findAllByItemOwnerIdAndEndDateIsBefore(10, LocalDateTime.now(), pageable);
-        assertTrue(emptyBookings.isEmpty());
+        item2 = createItem(2, "NewName", "NewDescription", true, user1, null);
+        createBooking(1, start, start.plusHours(2), item1, user1, Status.APPROVED);
+        createBooking(2, start.plusHours(4), start.plusHours(6), item1, user1, Status.WAITING);
+
+        assertTrue(bookingRepository.existsByItemIdAndStatusAndStartDateBeforeAndEndDateAfter(item1.getId(),
+                Status.APPROVED, start.plusHours(3), start.plusHours(1)));
+        assertTrue(bookingRepository.existsByItemIdAndStatusAndStartDateBeforeAndEndDateAfter(item1.getId(),
+                Status.APPROVED, start.plusHours(1), start.minusHours(1)));
+        assertFalse(bookingRepository.existsByItemIdAndStatusAndStartDateBeforeAndEndDateAfter(item1.getId(),
+                Status.APPROVED, start.plusHours(5), start.plusHours(2)));
+        assertFalse(bookingRepository.existsByItemIdAndStatusAndStartDateBeforeAndEndDateAfter(item2.getId(),
+                Status.APPROVED, start.plusHours(1), start));
     }
 
     @Test
-    void findAllByItemOwnerIdAndEndDateIsBeforeWithoutBookings() {
+    void findOverlappingBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
         user1 = createUser(1, "Name", "name@mail.ru");
         item1 = createItem(1, "Name", "Description", true, user1, null);
-
-        List<Booking> emptyBookings = bookingRepository.findAllByItemOwnerIdAndEndDateIsBefore(item1.getOwner().getId(), LocalDateTime.now(), pageable);
-        assertTrue(emptyBookings.isEmpty());
+        booking1 = createBooking(1, start.minusHours(1), start.plusHours(1), item1, user1, Status.APPROVED);
+        booking2 = createBooking(2, start.plusHours(3), start.plusHours(4), item1, user1, Status.APPROVED);
+        createBooking(3, start.plusHours(1), start.plusHours(2), item1, user1, Status.WAITING);
+        createBooking(4, start.plusHours(5), start.plusHours(6), item1, user1, Status.APPROVED);
+
+        List<ItemShortBookingDto> bookings = bookingRepository.findOverlappingBookings(List.of(item1.getId()),
+                Status.APPROVED, start, start.plusHours(5));
+        assertEquals(Set.of(booking1.getId(), booking2.getId()),
+                bookings.stream().map(ItemShortBookingDto::getId).collect(Collectors.toSet()));
+        assertEquals(2, bookings.size());
     }
 
     @Test
-    void findAllByItemOwnerIdAndStartDateIsAfter() {
+    void findBookerPageFollowsCursorAcrossEqualStartDates() {
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
         user1 = createUser(1, "Name", "name@mail.ru");
         user2 = createUser(2, "Name2", "name2@mail.ru");
-        item1 = createItem(1, "Name", "Description", true, user1, null);
-        item2 = createItem(2, "NewName", "NewDescription", true, user2, null);
-        booking1 = createBooking(1, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2),
-                item1, user1, Status.WAITING);
-        booking2 = createBooking(2, LocalDateTime.now().plusHours(2), LocalDateTime.now().plusHours(3),
-                item2, user2, Status.WAITING);
-        booking3 = createBooking(3, LocalDateTime.now(), LocalDateTime.now().plusMinutes(5),
-                item2, user1, Status.WAITING);
-
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndStartDateIsAfter(item1.getOwner().getId(), LocalDateTime.now().plusMinutes(30), pageable);
-        assertEquals(1, bookings.size());
-        assertEquals(booking1, bookings.get(0));
-
-        List<Booking> newBookings = bookingRepository.findAllByItemOwnerIdAndStartDateIsAfter(item2.getOwner().getId(), LocalDateTime.now().plusMinutes(30), pageable);
-        assertEquals(1, newBookings.size());
-        assertEquals(booking2, newBookings.get(0));
-
-        List<Booking> emptyBookings = bookingRepository.findAllByItemOwnerIdAndStartDateIsAfter(10, LocalDateTime.now(), pageable);
-        assertTrue(emptyBookings.isEmpty());
+        item1 = createItem(1, "Name", "Description", true, user2, null);
+        Booking first = createBooking(1, start.minusDays(3), start.minusDays(2), item1, user1, Status.APPROVED);
+        Booking second = createBooking(2, start.minusDays(1), start.plusDays(1), item1, user1, Status.APPROVED);
+        Booking third = createBooking(3, start.minusDays(1), start.plusDays(2), item1, user1, Status.WAITING);
+        Booking fourth = createBooking(4, start.minusDays(1), start.plusDays(3), item1, user1, Status.REJECTED);
+        Booking fifth = createBooking(5, start.plusDays(1), start.plusDays(2), item1, user1, Status.WAITING);
+
+        List<BookingListDto> scrolled = new ArrayList<>();
+        Cursor cursor = null;
+        List<BookingListDto> page;
+        do {
+            page = bookingRepository.findBookerPage(user1.getId(), State.ALL, start, cursor, 2);
+            scrolled.addAll(page);
+            if (!page.isEmpty()) {
+                BookingListDto last = page.get(page.size() - 1);
+                cursor = new Cursor(last.getStartDate(), last.getId());
+            }
+        } while (page.size() == 2);
+
+        assertEquals(List.of(fifth.getId(), fourth.getId(), third.getId(), second.getId(), first.getId()),
+                ids(scrolled));
+        assertEquals(List.of(fourth.getId(), third.getId(), second.getId()),
+                ids(bookingRepository.findBookerPage(user1.getId(), State.CURRENT, start, null, 10)));
+        assertEquals(List.of(third.getId()), ids(bookingRepository.findOwnerPage(user2.getId(), State.WAITING, start,
+                new Cursor(fifth.getStartDate(), fifth.getId()), 10)));
+        assertTrue(bookingRepository.findOwnerPage(user1.getId(), State.ALL, start, null, 10).isEmpty());
     }
 
     @Test
-    void findAllByItemOwnerIdAndStartDateIsAfterWithoutBookings() {
-        user1 = createUser(1, "Name", "name@mail.ru");
-        item1 = createItem(1, "Name", "Description", true, user1, null);
-
-        List<Booking> emptyBookings = bookingRepository.findAllByItemOwnerIdAndStartDateIsAfter(item1.getOwner().getId(), LocalDateTime.now(), pageable);
-        assertTrue(emptyBookings.isEmpty());
+    void updateStatusChangesOnlyBookingInExpectedStatus() {
+        user1 = createUser(null, "Name", "name@mail.ru");
+        user2 = createUser(null, "Name2", "name2@mail.ru");
+        item1 = createItem(null, "Name", "Description", true, user1, null);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        booking1 = createBooking(null, start, start.plusDays(1), item1, user2, Status.WAITING);
+        entityManager.flush();
+        Long version = booking1.getVersion();
+
+        assertEquals(1, bookingRepository.updateStatus(booking1.getId(), Status.APPROVED, Status.WAITING));
+        assertEquals(0, bookingRepository.updateStatus(booking1.getId(), Status.REJECTED, Status.WAITING));
+
+        Booking updated = bookingRepository.findById(booking1.getId()).orElseThrow();
+        assertEquals(Status.APPROVED, updated.getStatus());
+        assertEquals(version + 1, updated.getVersion());
     }
 
     @Test
-    void findAllByItemOwnerIdAndStatus() {
-        user1 = createUser(1, "Name", "name@mail.ru");
-        user2 = createUser(2, "Name2", "name2@mail.ru");
-        item1 = createItem(1, "Name", "Description", true, user1, null);
-        item2 = createItem(2, "NewName", "NewDescription", true, user2, null);
-        booking1 = createBooking(1, LocalDateTime.now().plusMinutes(30), LocalDateTime.now().plusHours(1),
-                item1, user1, Status.WAITING);
-        booking2 = createBooking(2, LocalDateTime.now(), LocalDateTime.now().plusMinutes(5),
-                item2, user2, Status.APPROVED);
-        booking3 = createBooking(3, LocalDateTime.now(), LocalDateTime.now().plusMinutes(5),
-                item2, user1, Status.WAITING);
-
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndStatus(item1.getOwner().getId(), Status.WAITING, pageable);
-        assertEquals(1, bookings.size());
-        assertEquals(booking1, bookings.get(0));
-
-        List<Booking> newBookings = bookingRepository.findAllByItemOwnerIdAndStatus(item2.getOwner().getId(), Status.WAITING, pageable);
-        assertEquals(1, newBookings.size());
-        assertEquals(booking3, newBookings.get(0));
-
-        List<Booking> newBookings2 = bookingRepository.findAllByItemOwnerIdAndStatus(item2.getOwner().getId(), Status.APPROVED, pageable);
-        assertEquals(1, newBookings2.size());
-        assertEquals(booking2, newBookings2.get(0));
-
-        List<Booking> emptyBookings = bookingRepository.findAllByItemOwnerIdAndStatus(item2.getOwner().getId(), Status.REJECTED, pageable);
-        assertTrue(emptyBookings.isEmpty());
-
-        List<Booking> emptyBookings2 = bookingRepository.findAllByItemOwnerIdAndStatus(20, Status.APPROVED, pageable);
-        assertTrue(emptyBookings2.isEmpty());
+    void findIdsByStatusAndStartDateBeforeReturnsOverdueBookingsOldestFirst() {
+        user1 = createUser(null, "Name", "name@mail.ru");
+        user2 = createUser(null, "Name2", "name2@mail.ru");
+        item1 = createItem(null, "Name", "Description", true, user1, null);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        booking1 = createBooking(null, now.minusHours(1), now.plusHours(1), item1, user2, Status.WAITING);
+        booking2 = createBooking(null, now.minusDays(1), now.plusHours(1), item1, user2, Status.WAITING);
+        booking3 = createBooking(null, now.minusDays(2), now.plusHours(1), item1, user2, Status.WAITING);
+        createBooking(null, now.minusDays(3), now.plusHours(1), item1, user2, Status.APPROVED);
+        createBooking(null, now.plusHours(1), now.plusHours(2), item1, user2, Status.WAITING);
+
+        assertEquals(List.of(booking3.getId(), booking2.getId()),
+                bookingRepository.findIdsByStatusAndStartDateBefore(Status.WAITING, now, PageRequest.of(0, 2)));
+        assertEquals(List.of(booking3.getId(), booking2.getId(), booking1.getId()),
+                bookingRepository.findIdsByStatusAndStartDateBefore(Status.WAITING, now, PageRequest.of(0, 10)));
+        assertEquals(now.minusDays(2), bookingRepository.findOldestStartDate(Status.WAITING, now));
+        assertNull(bookingRepository.findOldestStartDate(Status.WAITING, now.minusDays(2)));
     }
 
     @Test
-    void findAllByItemOwnerIdAndStatusWithoutBookings() {
-        user1 = createUser(1, "Name", "name@mail.ru");
-        item1 = createItem(1, "Name", "Description", true, user1, null);
-
-        List<Booking> emptyBookings = bookingRepository.findAllByItemOwnerIdAndStatus(item1.getOwner().getId(), Status.APPROVED, pageable);
-        assertTrue(emptyBookings.isEmpty());
+    void saveThrowsOptimisticLockingFailureExceptionWhenBookingIsStale() {
+        user1 = createUser(null, "Name", "name@mail.ru");
+        user2 = createUser(null, "Name2", "name2@mail.ru");
+        item1 = createItem(null, "Name", "Description", true, user1, null);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        booking1 = createBooking(null, start, start.plusDays(1), item1, user2, Status.WAITING);
+        entityManager.flush();
+
+        bookingRepository.updateStatus(booking1.getId(), Status.REJECTED, Status.WAITING);
+        booking1.setStatus(Status.APPROVED);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> bookingRepository.saveAndFlush(booking1));
     }
 
-    @Test
-    void findAllByItemId() {
-        Sort sort = Sort.by(Sort.Direction.ASC, "id");
-        user1 = createUser(1, "Name", "name@mail.ru");
-        item1 = createItem(1, "Name", "Description", true, user1, null);
-        item2 = createItem(2, "NewName", "NewDescription", true, user1, null);
-        booking1 = createBooking(1, LocalDateTime.now().plusMinutes(30), LocalDateTime.now().plusHours(1),
-                item1, user1, Status.WAITING);
-        booking2 = createBooking(2, LocalDateTime.now(), LocalDateTime.now().plusMinutes(5),
-                item2, user1, Status.APPROVED);
-
-        List<Booking> bookings = bookingRepository.findAllByItemId(item1.getId(), sort);
-        assertEquals(1, bookings.size());
-        assertEquals(booking1, bookings.get(0));
-
-        List<Booking> newBookings = bookingRepository.findAllByItemId(item2.getId(), sort);
-        assertEquals(1, newBookings.size());
-        assertEquals(booking2, newBookings.get(0));
+    /**
+     * Creates bookings of the item of user1 by user2 in every state, and a booking of the item of user2 by user1,
+     * and returns the ids of the bookings of the item of user1 expected for each state, latest first.
+     */
+    private Map<State, List<Integer>> createStateMatrix(LocalDateTime now) {
+        user1 = createUser(null, "Name", "name@mail.ru");
+        user2 = createUser(null, "Name2", "name2@mail.ru");
+        item1 = createItem(null, "Name", "Description", true, user1, null);
+        item2 = createItem(null, "NewName", "NewDescription", true, user2, null);
+        Booking past = createBooking(1, now.minusDays(3), now.minusDays(2), item1, user2, Status.APPROVED);
+        Booking current = createBooking(2, now.minusHours(1), now.plusHours(1), item1, user2, Status.APPROVED);
+        Booking waiting = createBooking(3, now.plusDays(1), now.plusDays(2), item1, user2, Status.WAITING);
+        Booking rejected = createBooking(4, now.plusDays(3), now.plusDays(4), item1, user2, Status.REJECTED);
+        createBooking(5, now.minusHours(1), now.plusDays(1), item2, user1, Status.WAITING);
+
+        Map<State, List<Integer>> expected = new EnumMap<>(State.class);
+        expected.put(State.ALL, List.of(rejected.getId(), waiting.getId(), current.getId(), past.getId()));
+        expected.put(State.CURRENT, List.of(current.getId()));
+        expected.put(State.PAST, List.of(past.getId()));
+        expected.put(State.FUTURE, List.of(rejected.getId(), waiting.getId()));
+        expected.put(State.WAITING, List.of(waiting.getId()));
+        expected.put(State.REJECTED, List.of(rejected.getId()));
+        return expected;
+    }
 
-        List<Booking> emptyBookings = bookingRepository.findAllByItemId(10, sort);
-        assertTrue(emptyBookings.isEmpty());
+    private List<BookingListDto> scroll(Function<Cursor, List<BookingListDto>> pages) {
+        List<BookingListDto> scrolled = new ArrayList<>();
+        Cursor cursor = null;
+        List<BookingListDto> page;
+        do {
+            page = pages.apply(cursor);
+            scrolled.addAll(page);
+            if (!page.isEmpty()) {
+                BookingListDto last = page.get(page.size() - 1);
+                cursor = new Cursor(last.getStartDate(), last.getId());
+            }
+        } while (!page.isEmpty());
+        return scrolled;
     }
 
-    @Test
-    void findAllByItemIdWithoutBookings() {
-        Sort sort = Sort.by(Sort.Direction.ASC, "id");
-        user1 = createUser(1, "Name", "name@mail.ru");
-        item1 = createItem(1, "Name", "Description", true, user1, null);
-        List<Booking> emptyBookings = bookingRepository.findAllByItemId(item1.getId(), sort);
-        assertTrue(emptyBookings.isEmpty());
+    private List<Integer> ids(List<BookingListDto> bookings) {
+        return bookings.stream()
+                .map(BookingListDto::getId)
+                .collect(Collectors.toList());
     }
 
     private Item createItem(Integer id, String name, String description, Boolean available, User owner, ItemRequest request) {
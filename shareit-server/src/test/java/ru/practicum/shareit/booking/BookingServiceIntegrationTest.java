@@ -1,21 +1,31 @@
 package ru.practicum.shareit.booking;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exceptions.ConflictException;
+import ru.practicum.shareit.item.ItemBusyPeriodRepository;
 import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
@@ -30,6 +40,15 @@ public class BookingServiceIntegrationTest {
     @Autowired
     ItemService itemService;
 
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    ItemBusyPeriodRepository itemBusyPeriodRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
     private User user;
     private User user2;
     private ItemDto item;
@@ -42,9 +61,16 @@ public class BookingServiceIntegrationTest {
         createBooking();
     }
 
+    @AfterEach
+    void tearDown() {
+        // Bookings always get new ids, unlike the users and items saved again by every setUp
+        bookingRepository.deleteAll();
+        itemBusyPeriodRepository.deleteAll();
+    }
+
     @Test
     void getBookingByBookerOrItemOwnerSuccess() {
-        BookingDto result = bookingService.getBookingByItemOwnerOrBooker(1, 1);
+        BookingDto result = bookingService.getBookingByItemOwnerOrBooker(booking.getId(), user.getId());
 
         assertNotNull(result);
         assertEquals(result.getId(), booking.getId());
@@ -60,6 +86,108 @@ public class BookingServiceIntegrationTest {
         assertEquals(result.get(0).getId(), booking2.getId());
     }
 
+    @Test
+    void createBookingsInsertsEveryAcceptedEntry() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDto> bookingDtos = List.of(
+                BookingDto.builder()
+                        .itemId(item.getId())
+                        .startDate(start.toString())
+                        .endDate(start.plusHours(1).toString())
+                        .build(),
+                BookingDto.builder()
+                        .itemId(item2.getId())
+                        .startDate(start.toString())
+                        .endDate(start.plusHours(1).toString())
+                        .build());
+
+        List<BookingBatchResultDto> results = bookingService.createBookings(bookingDtos, user2.getId());
+
+        assertEquals(BatchResult.CREATED, results.get(0).getResult());
+        assertEquals(BatchResult.NOT_FOUND, results.get(1).getResult());
+        BookingDto created = bookingService.getBookingByItemOwnerOrBooker(results.get(0).getBooking().getId(),
+                user2.getId());
+        assertEquals(item.getId(), created.getItemId());
+    }
+
+    @Test
+    void updateBookingsApprovesEveryWaitingBooking() {
+        LocalDateTime start = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.SECONDS);
+        List<Integer> bookingIds = bookingService.createBookings(List.of(
+                        BookingDto.builder()
+                                .itemId(item.getId())
+                                .startDate(start.toString())
+                                .endDate(start.plusHours(1).toString())
+                                .build(),
+                        BookingDto.builder()
+                                .itemId(item.getId())
+                                .startDate(start.plusHours(2).toString())
+                                .endDate(start.plusHours(3).toString())
+                                .build()), user2.getId()).stream()
+                .map(result -> result.getBooking().getId())
+                .collect(Collectors.toList());
+
+        List<BookingDecisionResultDto> results = bookingService.updateBookings(bookingIds, true, user.getId());
+
+        assertEquals(List.of(BatchResult.UPDATED, BatchResult.UPDATED),
+                results.stream().map(BookingDecisionResultDto::getResult).collect(Collectors.toList()));
+        for (Integer bookingId : bookingIds) {
+            assertEquals(Status.APPROVED, bookingService.getBookingByItemOwnerOrBooker(bookingId, user.getId()).getStatus());
+        }
+        assertEquals(List.of(false, true, false, true),
+                itemService.getItemAvailability(item.getId(), user.getId(), start, start.plusHours(4)).stream()
+                        .map(AvailabilitySlotDto::isAvailable)
+                        .collect(Collectors.toList()));
+        assertEquals(BatchResult.BAD_REQUEST,
+                bookingService.updateBookings(bookingIds, false, user.getId()).get(0).getResult());
+    }
+
+    @Test
+    void updateBookingRejectsApprovalThatOverlapsConcurrentApproval() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(5).truncatedTo(ChronoUnit.SECONDS);
+        Integer firstId = bookingService.createBooking(BookingDto.builder()
+                .itemId(item.getId())
+                .startDate(start.toString())
+                .endDate(start.plusHours(2).toString())
+                .build(), user2.getId()).getId();
+        Integer secondId = bookingService.createBooking(BookingDto.builder()
+                .itemId(item.getId())
+                .startDate(start.plusHours(1).toString())
+                .endDate(start.plusHours(3).toString())
+                .build(), user2.getId()).getId();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch firstApproved = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                bookingService.updateBooking(firstId, true, user.getId());
+                firstApproved.countDown();
+                awaitQuietly(commitFirst);
+            }));
+            assertTrue(firstApproved.await(5, TimeUnit.SECONDS));
+            Future<BookingDto> second = executor.submit(() -> bookingService.updateBooking(secondId, true, user.getId()));
+
+            assertThrows(TimeoutException.class, () -> second.get(300, TimeUnit.MILLISECONDS));
+            commitFirst.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            ExecutionException e = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ConflictException.class, e.getCause());
+            assertEquals(Status.WAITING, bookingService.getBookingByItemOwnerOrBooker(secondId, user.getId()).getStatus());
+        } finally {
+            commitFirst.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private void createBooking() {
         user = User.builder()
                 .id(1)
@@ -104,7 +232,7 @@ public class BookingServiceIntegrationTest {
                 .endDate(LocalDateTime.now().plusHours(1).toString())
                 .build();
 
-        bookingService.createBooking(booking, user2.getId());
+        booking = bookingService.createBooking(booking, user2.getId());
 
         booking2 = BookingDto.builder()
                 .id(2)
@@ -113,6 +241,6 @@ public class BookingServiceIntegrationTest {
                 .endDate(LocalDateTime.now().plusHours(1).toString())
                 .build();
 
-        bookingService.createBooking(booking2, user.getId());
+        booking2 = bookingService.createBooking(booking2, user.getId());
     }
 }
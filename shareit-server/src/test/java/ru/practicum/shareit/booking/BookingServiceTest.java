@@ -3,27 +3,48 @@ package ru.practicum.shareit.booking;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingListDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingStatusDto;
+import ru.practicum.shareit.booking.dto.ItemShortBookingDto;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.IncorrectParameterException;
+import ru.practicum.shareit.item.ItemAvailabilityCalendar;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.UserExistenceValidator;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -41,6 +62,9 @@ class BookingServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ItemAvailabilityCalendar itemAvailabilityCalendar;
+
     private User user;
     private User user2;
     private ItemDto itemDto;
@@ -48,10 +72,13 @@ class BookingServiceTest {
     private BookingDto bookingDto;
     private BookingDto bookingDto2;
     private Booking booking;
+    private BookingListDto bookingListDto;
 
     @BeforeEach
     void setUp() {
-        bookingService = new BookingService(bookingRepository, userRepository, itemRepository);
+        bookingService = new BookingService(bookingRepository, userRepository,
+                new UserExistenceValidator(userRepository, 100, Duration.ofMinutes(10)), itemRepository,
+                itemAvailabilityCalendar);
         user = User.builder()
                 .id(1)
                 .email("email@mail.ru")
@@ -93,6 +120,9 @@ class BookingServiceTest {
                 .build();
 
         booking = BookingMapper.toBooking(bookingDto, item, user);
+        bookingListDto = new BookingListDto(booking.getId(), booking.getStartDate(), booking.getEndDate(),
+                booking.getStatus(), item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                user.getId(), null, user.getId(), user.getName(), user.getEmail());
     }
 
     @Test
@@ -134,15 +164,82 @@ class BookingServiceTest {
     }
 
     @Test
-    void updateBookingThrowsEntityNotFoundExceptionWhenUserNotFound() {
+    void createBookingThrowsConflictExceptionWhenApprovedBookingOverlaps() {
+        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user2));
+        when(itemRepository.findById(anyInt())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItemIdAndStatusAndStartDateBeforeAndEndDateAfter(any(), any(Status.class),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> bookingService.createBooking(bookingDto2, 2));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void createBookingsReturnsResultPerEntry() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDto> bookingDtos = List.of(
+                newBookingDto(item.getId(), start, start.plusHours(1)),
+                newBookingDto(99, start, start.plusHours(1)),
+                newBookingDto(item.getId(), start, start.minusHours(1)),
+                newBookingDto(item.getId(), start.plusDays(1), start.plusDays(1).plusHours(1)));
+        when(userRepository.findById(2)).thenReturn(Optional.of(user2));
+        when(itemRepository.findAllByIdIn(Set.of(item.getId(), 99))).thenReturn(List.of(item));
+        when(bookingRepository.findOverlappingBookings(Set.of(item.getId()), Status.APPROVED,
+                start, start.plusDays(1).plusHours(1)))
+                .thenReturn(List.of(new ItemShortBookingDto(item.getId(), 10, 3,
+                        start.plusDays(1).minusHours(1), start.plusDays(1).plusMinutes(30))));
+
+        List<BookingBatchResultDto> results = bookingService.createBookings(bookingDtos, 2);
+
+        assertEquals(List.of(BatchResult.CREATED, BatchResult.NOT_FOUND, BatchResult.BAD_REQUEST, BatchResult.CONFLICT),
+                results.stream().map(BookingBatchResultDto::getResult).collect(Collectors.toList()));
+        assertEquals(user2.getId(), results.get(0).getBooking().getBookerId());
+        assertEquals(Status.WAITING, results.get(0).getBooking().getStatus());
+        assertNull(results.get(0).getError());
+        assertNotNull(results.get(3).getError());
+        verify(bookingRepository).saveAll(argThat(bookings -> bookings.spliterator().getExactSizeIfKnown() == 1));
+    }
+
+    @Test
+    void createBookingsReportsUnparsableDateAsBadRequest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto badDate = newBookingDto(item.getId(), start.plusDays(2), start.plusDays(2).plusHours(1));
+        badDate.setStartDate("not-a-date");
+        List<BookingDto> bookingDtos = List.of(
+                newBookingDto(item.getId(), start, start.plusHours(1)),
+                badDate,
+                newBookingDto(item.getId(), start.plusDays(1), start.plusDays(1).plusHours(1)));
+        when(userRepository.findById(2)).thenReturn(Optional.of(user2));
+        when(itemRepository.findAllByIdIn(Set.of(item.getId()))).thenReturn(List.of(item));
+        when(bookingRepository.findOverlappingBookings(Set.of(item.getId()), Status.APPROVED,
+                start, start.plusDays(1).plusHours(1))).thenReturn(List.of());
+
+        List<BookingBatchResultDto> results = bookingService.createBookings(bookingDtos, 2);
+
+        assertEquals(List.of(BatchResult.CREATED, BatchResult.BAD_REQUEST, BatchResult.CREATED),
+                results.stream().map(BookingBatchResultDto::getResult).collect(Collectors.toList()));
+        assertNotNull(results.get(1).getError());
+        verify(bookingRepository).saveAll(argThat(bookings -> bookings.spliterator().getExactSizeIfKnown() == 2));
+    }
+
+    @Test
+    void createBookingsThrowsEntityNotFoundExceptionWhenUserNotFound() {
         when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
 
+        assertThrows(EntityNotFoundException.class, () -> bookingService.createBookings(List.of(bookingDto), 2));
+        verify(bookingRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void updateBookingThrowsEntityNotFoundExceptionWhenUserNotFound() {
+        when(userRepository.existsById(anyInt())).thenReturn(false);
+
         assertThrows(EntityNotFoundException.class, () -> bookingService.updateBooking(1, true, 1));
     }
 
     @Test
     void updateBookingThrowsEntityNotFoundExceptionWhenBookingNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(bookingRepository.findById(anyInt())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.updateBooking(1, true, 1));
@@ -150,7 +247,7 @@ class BookingServiceTest {
 
     @Test
     void updateBookingsThrowsEntityNotFoundExceptionWhenUserIsNotOwnerOfTheItem() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.updateBooking(1, true, 2));
@@ -158,18 +255,38 @@ class BookingServiceTest {
 
     @Test
     void updateBookingThrowsIncorrectParameterExceptionWhenStatusIsApproved() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
         booking.setStatus(Status.APPROVED);
 
         assertThrows(IncorrectParameterException.class, () -> bookingService.updateBooking(1, true, 1));
     }
 
+    @Test
+    void updateBookingThrowsIncorrectParameterExceptionWhenStatusIsExpired() {
+        when(userRepository.existsById(anyInt())).thenReturn(true);
+        when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
+        booking.setStatus(Status.EXPIRED);
+
+        assertThrows(IncorrectParameterException.class, () -> bookingService.updateBooking(1, true, 1));
+        verify(bookingRepository, never()).updateStatus(anyInt(), any(), any());
+    }
+
+    @Test
+    void updateBookingThrowsIncorrectParameterExceptionWhenStatusIsCanceled() {
+        when(userRepository.existsById(anyInt())).thenReturn(true);
+        when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
+        booking.setStatus(Status.CANCELED);
+
+        assertThrows(IncorrectParameterException.class, () -> bookingService.updateBooking(1, false, 1));
+        verify(bookingRepository, never()).updateStatus(anyInt(), any(), any());
+    }
+
     @Test
     void updateBookingApprovedSuccess() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
-        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.updateStatus(1, Status.APPROVED, Status.WAITING)).thenReturn(1);
 
         booking.setStatus(Status.WAITING);
         assertEquals(booking.getStatus(), Status.WAITING);
@@ -181,13 +298,41 @@ class BookingServiceTest {
         assertEquals(result.getItemId(), item.getId());
         assertEquals(result.getBookerId(), user.getId());
         assertEquals(result.getStatus(), Status.APPROVED);
+        verify(itemAvailabilityCalendar).markBusy(List.of(new ItemShortBookingDto(item.getId(), booking.getId(), null,
+                booking.getStartDate(), booking.getEndDate())));
+    }
+
+    @Test
+    void updateBookingThrowsConflictExceptionWhenApprovedBookingOverlaps() {
+        when(userRepository.existsById(anyInt())).thenReturn(true);
+        when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsByItemIdAndStatusAndStartDateBeforeAndEndDateAfter(any(), any(Status.class),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(true);
+        booking.setStatus(Status.WAITING);
+
+        assertThrows(ConflictException.class, () -> bookingService.updateBooking(1, true, 1));
+        InOrder inOrder = inOrder(itemRepository, bookingRepository);
+        inOrder.verify(itemRepository).lockIdsByIdIn(Set.of(item.getId()));
+        inOrder.verify(bookingRepository).existsByItemIdAndStatusAndStartDateBeforeAndEndDateAfter(any(),
+                any(Status.class), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(bookingRepository, never()).updateStatus(anyInt(), any(), any());
+    }
+
+    @Test
+    void updateBookingThrowsConflictExceptionWhenBookingChangedConcurrently() {
+        when(userRepository.existsById(anyInt())).thenReturn(true);
+        when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
+        when(bookingRepository.updateStatus(1, Status.REJECTED, Status.WAITING)).thenReturn(0);
+        booking.setStatus(Status.WAITING);
+
+        assertThrows(ConflictException.class, () -> bookingService.updateBooking(1, false, 1));
     }
 
     @Test
     void updateBookingRejectedSuccess() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
-        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
+        when(bookingRepository.updateStatus(1, Status.REJECTED, Status.WAITING)).thenReturn(1);
 
         booking.setStatus(Status.WAITING);
         assertEquals(booking.getStatus(), Status.WAITING);
@@ -199,18 +344,121 @@ class BookingServiceTest {
         assertEquals(result.getItemId(), item.getId());
         assertEquals(result.getBookerId(), user.getId());
         assertEquals(result.getStatus(), Status.REJECTED);
+        verify(itemAvailabilityCalendar, never()).markBusy(anyCollection());
+    }
+
+    @Test
+    void updateBookingsApprovesWaitingBookingsOfOwner() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(bookingRepository.findStatusesByIdIn(List.of(1, 2, 3, 4, 5))).thenReturn(List.of(
+                new BookingStatusDto(1, 1, 1, Status.WAITING, start, start.plusHours(1)),
+                new BookingStatusDto(3, 3, 2, Status.WAITING, start, start.plusHours(1)),
+                new BookingStatusDto(4, 1, 1, Status.REJECTED, start, start.plusHours(1)),
+                new BookingStatusDto(5, 1, 1, Status.WAITING, start.plusMinutes(30), start.plusHours(2))));
+        when(bookingRepository.findOverlappingBookings(Set.of(1), Status.APPROVED, start, start.plusHours(2)))
+                .thenReturn(List.of());
+        when(bookingRepository.lockIdsByIdInAndStatus(Set.of(1), Status.WAITING)).thenReturn(List.of(1));
+        when(bookingRepository.updateStatus(Set.of(1), Status.APPROVED, Status.WAITING)).thenReturn(1);
+
+        List<BookingDecisionResultDto> results = bookingService.updateBookings(List.of(1, 2, 3, 4, 5), true, 1);
+
+        assertEquals(List.of(BatchResult.UPDATED, BatchResult.NOT_FOUND, BatchResult.NOT_FOUND,
+                        BatchResult.BAD_REQUEST, BatchResult.CONFLICT),
+                results.stream().map(BookingDecisionResultDto::getResult).collect(Collectors.toList()));
+        assertEquals(List.of(1, 2, 3, 4, 5),
+                results.stream().map(BookingDecisionResultDto::getBookingId).collect(Collectors.toList()));
+        assertEquals(Status.APPROVED, results.get(0).getStatus());
+        assertNotNull(results.get(4).getError());
+        InOrder inOrder = inOrder(itemRepository, bookingRepository);
+        inOrder.verify(itemRepository).lockIdsByIdIn(Set.of(1));
+        inOrder.verify(bookingRepository).findOverlappingBookings(Set.of(1), Status.APPROVED, start, start.plusHours(2));
+        verify(itemAvailabilityCalendar).markBusy(List.of(new ItemShortBookingDto(1, 1, null, start,
+                start.plusHours(1))));
+    }
+
+    @Test
+    void updateBookingsReportsBookingsDecidedConcurrently() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(bookingRepository.findStatusesByIdIn(List.of(1, 2))).thenReturn(List.of(
+                new BookingStatusDto(1, 1, 1, Status.WAITING, start, start.plusHours(1)),
+                new BookingStatusDto(2, 1, 1, Status.WAITING, start, start.plusHours(1))));
+        when(bookingRepository.lockIdsByIdInAndStatus(Set.of(1, 2), Status.WAITING)).thenReturn(List.of(1));
+        when(bookingRepository.updateStatus(Set.of(1), Status.REJECTED, Status.WAITING)).thenReturn(1);
+
+        List<BookingDecisionResultDto> results = bookingService.updateBookings(List.of(1, 2), false, 1);
+
+        assertEquals(BatchResult.UPDATED, results.get(0).getResult());
+        assertEquals(Status.REJECTED, results.get(0).getStatus());
+        assertEquals(BatchResult.CONFLICT, results.get(1).getResult());
+        assertNotNull(results.get(1).getError());
+        verify(bookingRepository, never()).findOverlappingBookings(anyCollection(), any(), any(), any());
+    }
+
+    @Test
+    void updateBookingsSkipsUpdateWhenEveryBookingWasDecidedConcurrently() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(bookingRepository.findStatusesByIdIn(List.of(1))).thenReturn(List.of(
+                new BookingStatusDto(1, 1, 1, Status.WAITING, start, start.plusHours(1))));
+        when(bookingRepository.lockIdsByIdInAndStatus(Set.of(1), Status.WAITING)).thenReturn(List.of());
+
+        List<BookingDecisionResultDto> results = bookingService.updateBookings(List.of(1), false, 1);
+
+        assertEquals(BatchResult.CONFLICT, results.get(0).getResult());
+        verify(bookingRepository, never()).updateStatus(anyCollection(), any(), any());
+    }
+
+    @Test
+    void updateBookingsThrowsEntityNotFoundExceptionWhenUserNotFound() {
+        when(userRepository.existsById(anyInt())).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> bookingService.updateBookings(List.of(1), true, 1));
+        verify(bookingRepository, never()).updateStatus(anyCollection(), any(), any());
+    }
+
+    @Test
+    void expireWaitingBookingsExpiresOverdueWaitingBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.findIdsByStatusAndStartDateBefore(Status.WAITING, now, PageRequest.of(0, 10)))
+                .thenReturn(List.of(1, 2));
+        when(bookingRepository.updateStatus(List.of(1, 2), Status.EXPIRED, Status.WAITING)).thenReturn(2);
+
+        assertEquals(2, bookingService.expireWaitingBookings(now, 10));
+    }
+
+    @Test
+    void expireWaitingBookingsSkipsUpdateWhenNothingIsOverdue() {
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.findIdsByStatusAndStartDateBefore(Status.WAITING, now, PageRequest.of(0, 10)))
+                .thenReturn(List.of());
+
+        assertEquals(0, bookingService.expireWaitingBookings(now, 10));
+        verify(bookingRepository, never()).updateStatus(anyCollection(), any(), any());
+    }
+
+    @Test
+    void getExpiryLagReturnsAgeOfOldestOverdueBooking() {
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.findOldestStartDate(Status.WAITING, now))
+                .thenReturn(now.minusMinutes(5))
+                .thenReturn(null);
+
+        assertEquals(Duration.ofMinutes(5), bookingService.getExpiryLag(now));
+        assertEquals(Duration.ZERO, bookingService.getExpiryLag(now));
     }
 
     @Test
     void getBookingByItemOwnerOrBookerThrowsEntityNotFoundExceptionWhenUserNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(userRepository.existsById(anyInt())).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.getBookingByItemOwnerOrBooker(1, 1));
     }
 
     @Test
     void getBookingByItemOwnerOrBookerThrowsEntityNotFoundExceptionBookingUserNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(bookingRepository.findById(anyInt())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.getBookingByItemOwnerOrBooker(1, 1));
@@ -218,7 +466,7 @@ class BookingServiceTest {
 
     @Test
     void getBookingByItemOwnerOrBookerThrowsEntityNotFoundExceptionWhenUserIsNotOwnerOfTheItemOrNotOwnerOfTheBooking() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.getBookingByItemOwnerOrBooker(1, 2));
@@ -226,7 +474,7 @@ class BookingServiceTest {
 
     @Test
     void getBookingByItemOwnerOrBookerSuccess() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
 
         BookingDto result = bookingService.getBookingByItemOwnerOrBooker(1, 1);
@@ -239,14 +487,14 @@ class BookingServiceTest {
 
     @Test
     void getAllByBookerIdThrowsEntityNotFoundExceptionWhenUserNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(userRepository.existsById(anyInt())).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.getAllByBookerId(1, "past", 1, 10));
     }
 
     @Test
     void getAllByBookerIdThrowsIncorrectParameterExceptionWhenPageableInvalid() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
         assertThrows(IncorrectParameterException.class, () -> bookingService.getAllByBookerId(1, "past", -1, -1));
         assertThrows(IncorrectParameterException.class, () -> bookingService.getAllByBookerId(1, "past", 1, -1));
@@ -255,104 +503,105 @@ class BookingServiceTest {
 
     @Test
     void getAllByBookerIdThrowsIllegalArgumentExceptionWhenStateParameterInvalid() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
         assertThrows(IllegalArgumentException.class, () -> bookingService.getAllByBookerId(1, "papapa", 1, 10));
     }
 
     @Test
     void getAllByBookerIdSuccessWhenStateAll() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
-        when(bookingRepository.findAllByBookerId(anyInt(), any(Pageable.class))).thenReturn(List.of(booking));
+        when(bookingRepository.findBookerBookings(anyInt(), eq(State.ALL), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingListDto));
 
         List<BookingDto> result = bookingService.getAllByBookerId(1, "ALL", 1, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllByBookerId(anyInt(), any(Pageable.class));
+        verify(bookingRepository).findBookerBookings(anyInt(), eq(State.ALL), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
     void getAllByBookerIdSuccessWhenStateCurrent() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
-        when(bookingRepository.findAllByBookerIdCurrent(anyInt(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findBookerBookings(anyInt(), eq(State.CURRENT), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingListDto));
 
         List<BookingDto> result = bookingService.getAllByBookerId(1, "CURRENT", 1, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllByBookerIdCurrent(anyInt(), any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingRepository).findBookerBookings(anyInt(), eq(State.CURRENT), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
     void getAllByBookerIdSuccessWhenStatePast() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
-        when(bookingRepository.findAllByBookerIdAndEndDateIsBefore(anyInt(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findBookerBookings(anyInt(), eq(State.PAST), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingListDto));
 
         List<BookingDto> result = bookingService.getAllByBookerId(1, "PAST", 1, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllByBookerIdAndEndDateIsBefore(anyInt(), any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingRepository).findBookerBookings(anyInt(), eq(State.PAST), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
     void getAllByBookerIdSuccessWhenStateFuture() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
-        when(bookingRepository.findAllByBookerIdAndStartDateIsAfter(anyInt(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findBookerBookings(anyInt(), eq(State.FUTURE), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingListDto));
 
         List<BookingDto> result = bookingService.getAllByBookerId(1, "FUTURE", 1, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllByBookerIdAndStartDateIsAfter(anyInt(), any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingRepository).findBookerBookings(anyInt(), eq(State.FUTURE), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
     void getAllByBookerIdSuccessWhenStatusWaiting() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
-        when(bookingRepository.findAllByBookerIdAndStatus(anyInt(), any(Status.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findBookerBookings(anyInt(), eq(State.WAITING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingListDto));
 
         List<BookingDto> result = bookingService.getAllByBookerId(1, "WAITING", 1, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllByBookerIdAndStatus(anyInt(), any(Status.class), any(Pageable.class));
+        verify(bookingRepository).findBookerBookings(anyInt(), eq(State.WAITING), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
     void getAllByBookerIdSuccessWhenStatusRejected() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
-        when(bookingRepository.findAllByBookerIdAndStatus(anyInt(), any(Status.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findBookerBookings(anyInt(), eq(State.REJECTED), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingListDto));
 
         List<BookingDto> result = bookingService.getAllByBookerId(1, "REJECTED", 1, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllByBookerIdAndStatus(anyInt(), any(Status.class), any(Pageable.class));
+        verify(bookingRepository).findBookerBookings(anyInt(), eq(State.REJECTED), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
     void getAllByOwnerIdThrowsEntityNotFoundExceptionWhenUserNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(userRepository.existsById(anyInt())).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> bookingService.getAllByOwnerId(1, "past", 1, 10));
     }
 
     @Test
     void getAllByOwnerIdThrowsIncorrectParameterExceptionWhenPageableInvalid() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
         assertThrows(IncorrectParameterException.class, () -> bookingService.getAllByOwnerId(1, "past", -1, -1));
         assertThrows(IncorrectParameterException.class, () -> bookingService.getAllByOwnerId(1, "past", 1, -1));
@@ -361,91 +610,134 @@ class BookingServiceTest {
 
     @Test
     void getAllByOwnerIdThrowsIllegalArgumentExceptionWhenStateParameterInvalid() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
         assertThrows(IllegalArgumentException.class, () -> bookingService.getAllByOwnerId(1, "papapa", 1, 10));
     }
 
     @Test
     void getAllByOwnerIdSuccessWhenStateAll() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
-        when(bookingRepository.findAllByItemOwner(anyInt(), any(Pageable.class))).thenReturn(List.of(booking));
+        when(bookingRepository.findOwnerBookings(anyInt(), eq(State.ALL), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingListDto));
 
         List<BookingDto> result = bookingService.getAllByOwnerId(1, "ALL", 1, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllByItemOwner(anyInt(), any(Pageable.class));
+        verify(bookingRepository).findOwnerBookings(anyInt(), eq(State.ALL), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
     void getAllByOwnerIdSuccessWhenStateCurrent() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
-        when(bookingRepository.findAllCurrentBookingByOwnerId(anyInt(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findOwnerBookings(anyInt(), eq(State.CURRENT), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingListDto));
 
         List<BookingDto> result = bookingService.getAllByOwnerId(1, "CURRENT", 1, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllCurrentBookingByOwnerId(anyInt(), any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingRepository).findOwnerBookings(anyInt(), eq(State.CURRENT), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
     void getAllByOwnerIdSuccessWhenStatePast() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
-        when(bookingRepository.findAllByItemOwnerIdAndEndDateIsBefore(anyInt(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findOwnerBookings(anyInt(), eq(State.PAST), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingListDto));
 
         List<BookingDto> result = bookingService.getAllByOwnerId(1, "PAST", 1, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllByItemOwnerIdAndEndDateIsBefore(anyInt(), any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingRepository).findOwnerBookings(anyInt(), eq(State.PAST), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
     void getAllByOwnerIdSuccessWhenStateFuture() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
-        when(bookingRepository.findAllByItemOwnerIdAndStartDateIsAfter(anyInt(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findOwnerBookings(anyInt(), eq(State.FUTURE), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingListDto));
 
         List<BookingDto> result = bookingService.getAllByOwnerId(1, "FUTURE", 1, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllByItemOwnerIdAndStartDateIsAfter(anyInt(), any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingRepository).findOwnerBookings(anyInt(), eq(State.FUTURE), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
     void getAllByOwnerIdSuccessWhenStatusWaiting() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
-        when(bookingRepository.findAllByItemOwnerIdAndStatus(anyInt(), any(Status.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findOwnerBookings(anyInt(), eq(State.WAITING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingListDto));
 
         List<BookingDto> result = bookingService.getAllByOwnerId(1, "WAITING", 1, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllByItemOwnerIdAndStatus(anyInt(), any(Status.class), any(Pageable.class));
+        verify(bookingRepository).findOwnerBookings(anyInt(), eq(State.WAITING), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
     void getAllByOwnerIdSuccessWhenStatusRejected() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
-        when(bookingRepository.findAllByItemOwnerIdAndStatus(anyInt(), any(Status.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findOwnerBookings(anyInt(), eq(State.REJECTED), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(bookingListDto));
 
         List<BookingDto> result = bookingService.getAllByOwnerId(1, "REJECTED", 1, 10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(bookingRepository).findAllByItemOwnerIdAndStatus(anyInt(), any(Status.class), any(Pageable.class));
+        verify(bookingRepository).findOwnerBookings(anyInt(), eq(State.REJECTED), any(LocalDateTime.class), any(Pageable.class));
+    }
+
+    @Test
+    void getAllByBookerIdAfterReturnsNextCursorWhenPageIsFull() {
+        when(userRepository.existsById(anyInt())).thenReturn(true);
+        when(bookingRepository.findBookerPage(eq(1), eq(State.ALL), any(LocalDateTime.class), isNull(), eq(1)))
+                .thenReturn(List.of(bookingListDto));
+
+        CursorPage<BookingDto> page = bookingService.getAllByBookerIdAfter(1, "ALL", "", 1);
+
+        assertEquals(List.of(BookingMapper.toBookingDto(booking)), page.getContent());
+        assertEquals(new Cursor(bookingListDto.getStartDate(), bookingListDto.getId()), Cursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getAllByOwnerIdAfterReturnsNoCursorOnLastPage() {
+        Cursor cursor = new Cursor(LocalDateTime.now(), 5);
+        when(userRepository.existsById(anyInt())).thenReturn(true);
+        when(bookingRepository.findOwnerPage(eq(1), eq(State.WAITING), any(LocalDateTime.class), eq(cursor), eq(10)))
+                .thenReturn(List.of(bookingListDto));
+
+        CursorPage<BookingDto> page = bookingService.getAllByOwnerIdAfter(1, "WAITING", cursor.encode(), 10);
+
+        assertEquals(1, page.getContent().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getAllByBookerIdAfterThrowsIncorrectParameterException() {
+        when(userRepository.existsById(anyInt())).thenReturn(true);
+
+        assertThrows(IncorrectParameterException.class, () -> bookingService.getAllByBookerIdAfter(1, "ALL", "broken", 10));
+        assertThrows(IncorrectParameterException.class, () -> bookingService.getAllByBookerIdAfter(1, "ALL", "", 0));
+        assertThrows(IllegalArgumentException.class, () -> bookingService.getAllByOwnerIdAfter(1, "papapa", "", 10));
+    }
+
+    private BookingDto newBookingDto(Integer itemId, LocalDateTime start, LocalDateTime end) {
+        return BookingDto.builder()
+                .itemId(itemId)
+                .startDate(start.toString())
+                .endDate(end.toString())
+                .build();
     }
-}
\ No newline at end of file
+}
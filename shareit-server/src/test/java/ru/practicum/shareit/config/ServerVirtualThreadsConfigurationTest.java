@@ -0,0 +1,40 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class ServerVirtualThreadsConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(ServerVirtualThreadsConfiguration.class);
+
+    @Test
+    void platformThreadsAreKeptByDefault() {
+        contextRunner.run(context -> assertFalse(context.containsBean("virtualThreadsProtocolHandlerCustomizer")));
+    }
+
+    @Test
+    void applicationTaskExecutorMatchesTheRuntime() {
+        contextRunner.withPropertyValues("shareit.threads.virtual=true").run(context -> {
+            AsyncTaskExecutor executor = context.getBean("applicationTaskExecutor", AsyncTaskExecutor.class);
+            if (Runtime.version().feature() < 21) {
+                assertInstanceOf(ThreadPoolTaskExecutor.class, executor);
+            } else {
+                assertInstanceOf(TaskExecutorAdapter.class, executor);
+            }
+            assertEquals("done", executor.submit(() -> "done").get(5, TimeUnit.SECONDS));
+        });
+    }
+}
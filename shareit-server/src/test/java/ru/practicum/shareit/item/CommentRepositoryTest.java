@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -9,6 +10,7 @@ import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -27,12 +29,21 @@ class CommentRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Item item1;
     private Item item2;
     private User user1;
     private Comment comment1;
     private Comment comment2;
 
+    @BeforeEach
+    void evictSecondLevelCache() {
+        // Rolled back test transactions leave the entities they loaded in the second-level cache
+        entityManagerFactory.getCache().evictAll();
+    }
+
     @Test
     void findAllByItemId() {
         user1 = createUser(1, "Name", "name@mail.ru");
@@ -62,6 +73,23 @@ class CommentRepositoryTest {
         assertTrue(emptyComment.isEmpty());
     }
 
+    @Test
+    void findAllByItemIdIn() {
+        user1 = createUser(1, "Name", "name@mail.ru");
+        item1 = createItem(1, "Name", "Description", true, user1, null);
+        item2 = createItem(2, "NewName", "NewDescription", true, user1, null);
+        comment1 = createComment(1, "comment", LocalDateTime.now(), item1, user1);
+        comment2 = createComment(2, "comment2", LocalDateTime.now(), item2, user1);
+
+        List<Comment> comments = commentRepository.findAllByItemIdIn(List.of(item1.getId(), item2.getId()));
+        assertEquals(2, comments.size());
+        assertTrue(comments.contains(comment1));
+        assertTrue(comments.contains(comment2));
+
+        List<Comment> emptyComment = commentRepository.findAllByItemIdIn(List.of(10));
+        assertTrue(emptyComment.isEmpty());
+    }
+
     private Item createItem(Integer id, String name, String description, Boolean available, User owner, ItemRequest request) {
         Item item = Item.builder()
                 .id(id)
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+
+    private InMemoryItemSearchEngine searchEngine;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private User owner;
+    private User requestor;
+
+    @BeforeEach
+    void setUp() {
+        searchEngine = new InMemoryItemSearchEngine(itemRepository);
+        owner = User.builder().id(1).name("owner").email("owner@mail.ru").build();
+        requestor = User.builder().id(2).name("requestor").email("requestor@mail.ru").build();
+    }
+
+    @Test
+    void searchMatchesPrefixesOfAllWordsIgnoringCase() {
+        searchEngine.index(createItem(1, "Дрель", "Аккумуляторная дрель", true));
+        searchEngine.index(createItem(2, "Drill", "Cordless DRILL, two batteries", true));
+        searchEngine.index(createItem(3, "Drill press", "Heavy", true));
+
+        assertEquals(List.of(1), ids(searchEngine.search("дРЕ", PageRequest.of(0, 10))));
+        assertEquals(List.of(2, 3), ids(searchEngine.search("dri", PageRequest.of(0, 10))));
+        assertEquals(List.of(2), ids(searchEngine.search("cord drill", PageRequest.of(0, 10))));
+        assertTrue(searchEngine.search("saw", PageRequest.of(0, 10)).isEmpty());
+        assertTrue(searchEngine.search(" ,. ", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void searchReturnsPageOfItemsOrderedById() {
+        for (int id = 1; id <= 5; id++) {
+            searchEngine.index(createItem(id, "Drill " + id, "description", true));
+        }
+
+        assertEquals(List.of(3, 4), ids(searchEngine.search("drill", PageRequest.of(1, 2))));
+        assertEquals(List.of(5), ids(searchEngine.search("drill", PageRequest.of(2, 2))));
+    }
+
+    @Test
+    void searchMergesItemsOfAllWordsWithThePrefixInIdOrder() {
+        searchEngine.index(createItem(4, "Driver", "drill driver", true));
+        searchEngine.index(createItem(1, "Drill", "description", true));
+        searchEngine.index(createItem(3, "Drill", "drive, dried", true));
+        searchEngine.index(createItem(2, "Dryer", "description", true));
+        searchEngine.index(createItem(5, "Drive", "description", true));
+
+        assertEquals(List.of(1, 3, 4, 5), ids(searchEngine.search("dri", PageRequest.of(0, 10))));
+        assertEquals(List.of(4, 5), ids(searchEngine.search("dri", PageRequest.of(1, 2))));
+        assertEquals(List.of(3, 4), ids(searchEngine.search("drill drive", PageRequest.of(0, 10))));
+        assertEquals(List.of(1, 2, 3, 4, 5), ids(searchEngine.search("dr", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void indexReplacesUpdatedAndDropsUnavailableItems() {
+        searchEngine.index(createItem(1, "Drill", "description", true));
+        searchEngine.index(createItem(2, "Saw", "description", true));
+
+        searchEngine.index(createItem(1, "Hammer", "description", true));
+        searchEngine.index(createItem(2, "Saw", "description", false));
+
+        assertTrue(searchEngine.search("drill", PageRequest.of(0, 10)).isEmpty());
+        assertTrue(searchEngine.search("saw", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(1), ids(searchEngine.search("hammer", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void removeUserItemsDropsOwnedAndRequestedItems() {
+        Item requestedItem = createItem(2, "Drill", "description", true);
+        requestedItem.setOwner(User.builder().id(3).build());
+        requestedItem.setRequest(ItemRequest.builder().id(1).requestor(requestor).build());
+        searchEngine.index(createItem(1, "Drill", "description", true));
+        searchEngine.index(requestedItem);
+
+        searchEngine.removeUserItems(requestor.getId());
+        assertEquals(List.of(1), ids(searchEngine.search("drill", PageRequest.of(0, 10))));
+
+        searchEngine.removeUserItems(owner.getId());
+        assertTrue(searchEngine.search("drill", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void rebuildLoadsItemsInBatches() {
+        List<Item> firstBatch = IntStream.rangeClosed(1, 500)
+                .mapToObj(id -> createItem(id, "Drill", "description", true))
+                .collect(Collectors.toList());
+        when(itemRepository.findAllByIdGreaterThanOrderByIdAsc(eq(0), any(Pageable.class))).thenReturn(firstBatch);
+        when(itemRepository.findAllByIdGreaterThanOrderByIdAsc(eq(500), any(Pageable.class)))
+                .thenReturn(List.of(createItem(501, "Saw", "description", true)));
+
+        searchEngine.rebuild();
+
+        assertEquals(500, searchEngine.search("drill", PageRequest.of(0, 1000)).size());
+        assertEquals(List.of(501), ids(searchEngine.search("saw", PageRequest.of(0, 10))));
+    }
+
+    private Item createItem(Integer id, String name, String description, Boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+
+    private List<Integer> ids(List<ItemDto> items) {
+        return items.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,150 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.ItemShortBookingDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import(ItemAvailabilityCalendar.class)
+class ItemAvailabilityCalendarTest {
+
+    @Autowired
+    private ItemAvailabilityCalendar itemAvailabilityCalendar;
+
+    @Autowired
+    private ItemBusyPeriodRepository itemBusyPeriodRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private Item item1;
+    private Item item2;
+
+    @BeforeEach
+    void setUp() {
+        // Rolled back test transactions leave the entities they loaded in the second-level cache
+        entityManagerFactory.getCache().evictAll();
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@mail.ru").build());
+        item1 = createItem("Drill", owner);
+        item2 = createItem("Saw", owner);
+    }
+
+    @Test
+    void markBusyMergesOverlappingAndTouchingBookings() {
+        itemAvailabilityCalendar.markBusy(List.of(booking(item1, 0, 2), booking(item1, 5, 6)));
+        itemAvailabilityCalendar.markBusy(List.of(booking(item1, 2, 3)));
+        itemAvailabilityCalendar.markBusy(List.of(booking(item1, 1, 4)));
+
+        assertEquals(List.of(List.of(start, start.plusHours(4)), List.of(start.plusHours(5), start.plusHours(6))),
+                periods(item1, 0, 24));
+        assertEquals(2, itemBusyPeriodRepository.count());
+    }
+
+    @Test
+    void markBusyMergesBookingsOfOneCallPerItem() {
+        itemAvailabilityCalendar.markBusy(List.of(booking(item1, 0, 2), booking(item2, 1, 3),
+                booking(item1, 1, 5), booking(item2, 3, 4), booking(item1, 8, 9)));
+
+        assertEquals(List.of(List.of(start, start.plusHours(5)), List.of(start.plusHours(8), start.plusHours(9))),
+                periods(item1, 0, 24));
+        assertEquals(List.of(List.of(start.plusHours(1), start.plusHours(4))), periods(item2, 0, 24));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void markBusyWaitsForConcurrentApprovalOfTheSameItem() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch firstMarked = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                itemAvailabilityCalendar.markBusy(List.of(booking(item1, 0, 2)));
+                firstMarked.countDown();
+                awaitQuietly(commitFirst);
+            }));
+            assertEquals(true, firstMarked.await(5, TimeUnit.SECONDS));
+            Future<?> second = executor.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                    itemAvailabilityCalendar.markBusy(List.of(booking(item1, 1, 3)))));
+
+            assertThrows(TimeoutException.class, () -> second.get(300, TimeUnit.MILLISECONDS));
+            commitFirst.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of(List.of(start, start.plusHours(3))), periods(item1, 0, 24));
+            assertEquals(1, itemBusyPeriodRepository.count());
+        } finally {
+            commitFirst.countDown();
+            executor.shutdownNow();
+            itemBusyPeriodRepository.deleteAllInBatch();
+            itemRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        }
+    }
+
+    @Test
+    void getBusyPeriodsReturnsOnlyPeriodsIntersectingTheWindow() {
+        itemAvailabilityCalendar.markBusy(List.of(booking(item1, 0, 2), booking(item1, 4, 6), booking(item1, 8, 9)));
+
+        assertEquals(List.of(List.of(start.plusHours(4), start.plusHours(6))), periods(item1, 2, 8));
+    }
+
+    private List<List<LocalDateTime>> periods(Item item, int fromHour, int toHour) {
+        return itemAvailabilityCalendar.getBusyPeriods(item.getId(), start.plusHours(fromHour), start.plusHours(toHour))
+                .stream()
+                .map(period -> List.of(period.getStartDate(), period.getEndDate()))
+                .collect(Collectors.toList());
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ItemShortBookingDto booking(Item item, int startHour, int endHour) {
+        return new ItemShortBookingDto(item.getId(), null, null, start.plusHours(startHour), start.plusHours(endHour));
+    }
+
+    private Item createItem(String name, User owner) {
+        return itemRepository.save(Item.builder()
+                .name(name)
+                .description(name)
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+}
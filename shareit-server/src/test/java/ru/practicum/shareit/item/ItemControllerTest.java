@@ -9,13 +9,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemForOwnerDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -180,4 +184,35 @@ class ItemControllerTest {
                         .content(objectMapper.writeValueAsString(commentDto)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemAvailabilitySuccess() throws Exception {
+        AvailabilitySlotDto slot = AvailabilitySlotDto.builder()
+                .start("2030-01-01T00:00:00")
+                .end("2030-01-02T00:00:00")
+                .available(true)
+                .build();
+        when(itemService.getItemAvailability(1, 1, LocalDateTime.of(2030, 1, 1, 0, 0),
+                LocalDateTime.of(2030, 1, 2, 0, 0))).thenReturn(List.of(slot));
+
+        mvc.perform(get("/items/{itemId}/availability", 1)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", slot.getStart())
+                        .param("to", slot.getEnd()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$[0].start").value(slot.getStart()))
+                .andExpect(jsonPath("$[0].available").value(true));
+    }
+
+    @Test
+    void getItemAvailabilityReturns400WhenDateIsNotIsoDateTime() throws Exception {
+        mvc.perform(get("/items/{itemId}/availability", 1)
+                        .header("X-Sharer-User-Id", 1)
+                        .param("from", "tomorrow")
+                        .param("to", "2030-01-02T00:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemService, never()).getItemAvailability(anyInt(), anyInt(), any(), any());
+    }
+}
@@ -1,18 +1,29 @@
 package ru.practicum.shareit.item;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -20,6 +31,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 @DataJpaTest
 class ItemRepositoryTest {
 
+    private static final int MAX_CANDIDATES = 1000;
+
     @Autowired
     private ItemRepository itemRepository;
 
@@ -29,6 +42,12 @@ class ItemRepositoryTest {
     @Autowired
     private ItemRequestRepository itemRequestRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private User user1;
     private Item item1;
     private Item item2;
@@ -41,9 +60,15 @@ class ItemRepositoryTest {
         pageable = Pageable.ofSize(10);
     }
 
+    @BeforeEach
+    void evictSecondLevelCache() {
+        // Rolled back test transactions leave the entities they loaded in the second-level cache
+        entityManagerFactory.getCache().evictAll();
+    }
+
     @Test
     public void findByTextWithoutItems() {
-        List<Item> items = itemRepository.findByText("pwsl", Pageable.ofSize(1));
+        List<Item> items = itemRepository.findByText("pwsl", MAX_CANDIDATES, Pageable.ofSize(1));
         assertTrue(items.isEmpty());
     }
 
@@ -54,16 +79,16 @@ class ItemRepositoryTest {
         item1 = createItem(1, "Name", "Description", true, user1, request1);
         item2 = createItem(2, "NewName", "NewDescription", true, user1, request1);
 
-        List<Item> items = itemRepository.findByText("nAm", pageable);
+        List<Item> items = itemRepository.findByText("nAm", MAX_CANDIDATES, pageable);
         assertEquals(2, items.size());
         assertEquals(item1, items.get(0));
         assertEquals(item2, items.get(1));
 
-        List<Item> newItems = itemRepository.findByText("ewNa", pageable);
+        List<Item> newItems = itemRepository.findByText("ewNa", MAX_CANDIDATES, pageable);
         assertEquals(1, newItems.size());
         assertEquals(item2, newItems.get(0));
 
-        List<Item> emptyList = itemRepository.findByText("baba", pageable);
+        List<Item> emptyList = itemRepository.findByText("baba", MAX_CANDIDATES, pageable);
         assertTrue(emptyList.isEmpty());
     }
 
@@ -74,19 +99,69 @@ class ItemRepositoryTest {
         item1 = createItem(1, "Name", "Description", true, user1, request1);
         item2 = createItem(2, "NewName", "NewDescription", true, user1, request1);
 
-        List<Item> items = itemRepository.findByText("dEscr", pageable);
+        List<Item> items = itemRepository.findByText("dEscr", MAX_CANDIDATES, pageable);
         assertEquals(2, items.size());
         assertEquals(item1, items.get(0));
         assertEquals(item2, items.get(1));
 
-        List<Item> newItems = itemRepository.findByText("ewdESCr", pageable);
+        List<Item> newItems = itemRepository.findByText("ewdESCr", MAX_CANDIDATES, pageable);
         assertEquals(1, newItems.size());
         assertEquals(item2, newItems.get(0));
 
-        List<Item> emptyList = itemRepository.findByText("baba", pageable);
+        List<Item> emptyList = itemRepository.findByText("baba", MAX_CANDIDATES, pageable);
         assertTrue(emptyList.isEmpty());
     }
 
+    @Test
+    public void findByTextRanksNameMatchesFirst() {
+        user1 = createUser(1, "Name", "name@mail.ru");
+        request1 = createRequest(1, "Description", user1);
+        item1 = createItem(1, "Tent", "Drill included", true, user1, request1);
+        item2 = createItem(2, "Old drill", "Description", true, user1, request1);
+        Item item3 = createItem(3, "Drill", "Description", true, user1, request1);
+        Item item4 = createItem(4, "Drill press", "Description", true, user1, request1);
+
+        assertEquals(List.of(item3, item4, item2, item1), itemRepository.findByText("drill", MAX_CANDIDATES, pageable));
+        assertEquals(List.of(item2, item1), itemRepository.findByText("drill", MAX_CANDIDATES, PageRequest.of(1, 2)));
+    }
+
+    @Test
+    public void findByTextRanksOnlyFirstCandidatesById() {
+        user1 = createUser(1, "Name", "name@mail.ru");
+        request1 = createRequest(1, "Description", user1);
+        item1 = createItem(1, "Tent", "Drill included", true, user1, request1);
+        item2 = createItem(2, "Old drill", "Description", true, user1, request1);
+        createItem(3, "Drill", "Description", true, user1, request1);
+
+        assertEquals(List.of(item2, item1), itemRepository.findByText("drill", 2, pageable));
+    }
+
+    @Test
+    public void databaseSearchEngineKeepsRankingOfSortedPage() {
+        user1 = createUser(1, "Name", "name@mail.ru");
+        request1 = createRequest(1, "Description", user1);
+        item1 = createItem(1, "Tent", "Drill included", true, user1, request1);
+        item2 = createItem(2, "Drill", "Description", true, user1, request1);
+
+        List<ItemDto> items = new DatabaseItemSearchEngine(itemRepository, MAX_CANDIDATES)
+                .search("drill", PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id")));
+
+        assertEquals(List.of(item2.getId(), item1.getId()), items.stream().map(ItemDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void insertWithoutIdTakesIdFromSequenceOfEntities() {
+        user1 = createUser(1, "Name", "name@mail.ru");
+        userRepository.flush();
+        jdbcTemplate.update("insert into items (name, description, is_available, owner_id) values (?, ?, ?, ?)",
+                "Drill", "Description", true, user1.getId());
+        item1 = createItem(1, "Saw", "Description", true, user1, null);
+        item2 = createItem(2, "Tent", "Description", true, user1, null);
+        itemRepository.flush();
+
+        assertEquals(3, Set.copyOf(jdbcTemplate.queryForList("select id from items", Integer.class)).size());
+    }
+
     @Test
     public void findAllByOwnerIdWithoutItems() {
         user1 = createUser(1, "Name", "name@mail.ru");
@@ -136,6 +211,30 @@ class ItemRepositoryTest {
         assertTrue(emptyItems.isEmpty());
     }
 
+    @Test
+    void saveAllInsertsItemsInBatches() {
+        user1 = createUser(1, "Name", "name@mail.ru");
+        userRepository.flush();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            items.add(Item.builder()
+                    .name("Name" + i)
+                    .description("Description" + i)
+                    .available(true)
+                    .owner(user1)
+                    .build());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        itemRepository.saveAllAndFlush(items);
+
+        // At most three sequence calls for the blocks of 50 ids, the insert statement is reused by every batch
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 4);
+        assertEquals(120, items.stream().map(Item::getId).distinct().count());
+    }
+
     private Item createItem(Integer id, String name, String description, Boolean available, User owner, ItemRequest request) {
         Item item = Item.builder()
                 .id(id)
@@ -6,22 +6,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.ItemShortBookingDto;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.IncorrectParameterException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBusyPeriod;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserExistenceValidator;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -31,6 +34,8 @@ import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -56,6 +61,9 @@ class ItemServiceImplTest {
     @Mock
     private BookingService bookingService;
 
+    @Mock
+    private ItemAvailabilityCalendar itemAvailabilityCalendar;
+
     private ItemDto itemDto;
     private Item item;
     private ItemRequest request;
@@ -65,8 +73,10 @@ class ItemServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository,
-                commentRepository, bookingService, itemRequestRepository);
+        itemService = new ItemServiceImpl(itemRepository, userRepository,
+                new UserExistenceValidator(userRepository, 100, Duration.ofMinutes(10)), bookingRepository,
+                commentRepository, bookingService, itemRequestRepository, new DatabaseItemSearchEngine(itemRepository, 1000),
+                itemAvailabilityCalendar);
 
         user = User.builder()
                 .id(1)
@@ -135,14 +145,14 @@ class ItemServiceImplTest {
 
     @Test
     void updateItemThrowsEntityNotFoundExceptionWhenUserNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(userRepository.existsById(anyInt())).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> itemService.updateItem(itemDto, 1, 1));
     }
 
     @Test
     void updateItemThrowsEntityNotFoundExceptionWhenItemNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findById(anyInt())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> itemService.updateItem(itemDto, 1, 1));
@@ -156,7 +166,7 @@ class ItemServiceImplTest {
                 .email("email@mail.ru")
                 .name("name")
                 .build();
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(userNotOwner));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findById(anyInt())).thenReturn(Optional.of(item));
 
         assertThrows(EntityNotFoundException.class, () -> itemService.updateItem(itemDto, 1, 2));
@@ -169,7 +179,7 @@ class ItemServiceImplTest {
                 .description("descriptionUpdate")
                 .name("nameUpdate")
                 .build();
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findById(anyInt())).thenReturn(Optional.of(item));
         when(itemRepository.saveAndFlush(item)).thenReturn(item);
 
@@ -187,7 +197,7 @@ class ItemServiceImplTest {
         ItemDto updatedItem = ItemDto.builder()
                 .name("nameUpdate")
                 .build();
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findById(anyInt())).thenReturn(Optional.of(item));
         when(itemRepository.saveAndFlush(item)).thenReturn(item);
 
@@ -205,7 +215,7 @@ class ItemServiceImplTest {
         ItemDto updatedItem = ItemDto.builder()
                 .description("descriptionUpdate")
                 .build();
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findById(anyInt())).thenReturn(Optional.of(item));
         when(itemRepository.saveAndFlush(item)).thenReturn(item);
 
@@ -223,7 +233,7 @@ class ItemServiceImplTest {
         ItemDto updatedItem = ItemDto.builder()
                 .available(false)
                 .build();
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findById(anyInt())).thenReturn(Optional.of(item));
         when(itemRepository.saveAndFlush(item)).thenReturn(item);
 
@@ -238,14 +248,14 @@ class ItemServiceImplTest {
 
     @Test
     void getAllItemsOfUserThrowsEntityNotFoundExceptionWhenUserNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(userRepository.existsById(anyInt())).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> itemService.getAllItemsOfUser(1, 1, 1));
     }
 
     @Test
     void getAllItemsOfUserThrowsIncorrectParameterExceptionWhenInvalidPageableParams() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
         assertThrows(IncorrectParameterException.class, () -> itemService.getAllItemsOfUser(2, -1, 1));
         assertThrows(IncorrectParameterException.class, () -> itemService.getAllItemsOfUser(2, 0, -1));
@@ -256,7 +266,7 @@ class ItemServiceImplTest {
 
     @Test
     void getAllItemsOfUserSuccessWithoutBookingsAndComments() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findAllByOwnerId(anyInt(), any(Pageable.class))).thenReturn(List.of(item));
 
         List<ItemForOwnerDto> items = itemService.getAllItemsOfUser(1, 0, 10);
@@ -272,9 +282,10 @@ class ItemServiceImplTest {
 
     @Test
     void getAllItemsOfUserSuccessWithBookingsAndWithoutComments() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findAllByOwnerId(anyInt(), any(Pageable.class))).thenReturn(List.of(item));
-        when(bookingRepository.findAllByItemId(anyInt(), any(Sort.class))).thenReturn(List.of(booking));
+        when(bookingRepository.findLastBookings(anyCollection(), any(Status.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(toItemShortBooking(booking)));
 
         List<ItemForOwnerDto> items = itemService.getAllItemsOfUser(1, 0, 10);
 
@@ -290,10 +301,11 @@ class ItemServiceImplTest {
 
     @Test
     void getAllItemsOfUserSuccessWithBookingsAndComments() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findAllByOwnerId(anyInt(), any(Pageable.class))).thenReturn(List.of(item));
-        when(bookingRepository.findAllByItemId(anyInt(), any(Sort.class))).thenReturn(List.of(booking));
-        when(commentRepository.findAllByItemId(anyInt())).thenReturn(List.of(comment));
+        when(bookingRepository.findLastBookings(anyCollection(), any(Status.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(toItemShortBooking(booking)));
+        when(commentRepository.findAllByItemIdIn(anyCollection())).thenReturn(List.of(comment));
 
         List<ItemForOwnerDto> items = itemService.getAllItemsOfUser(1, 0, 10);
 
@@ -310,9 +322,9 @@ class ItemServiceImplTest {
 
     @Test
     void getAllItemsOfUserSuccessWithoutBookingsAndWithComments() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findAllByOwnerId(anyInt(), any(Pageable.class))).thenReturn(List.of(item));
-        when(commentRepository.findAllByItemId(anyInt())).thenReturn(List.of(comment));
+        when(commentRepository.findAllByItemIdIn(anyCollection())).thenReturn(List.of(comment));
 
         List<ItemForOwnerDto> items = itemService.getAllItemsOfUser(1, 0, 10);
 
@@ -329,16 +341,50 @@ class ItemServiceImplTest {
 
     }
 
+    @Test
+    void getAllItemsOfUserLoadsBookingsAndCommentsOncePerPage() {
+        Item item2 = ItemMapper.toItemFromDto(itemDto, user, request);
+        item2.setId(2);
+        Booking nextBooking = Booking.builder()
+                .id(2)
+                .status(Status.APPROVED)
+                .booker(user)
+                .item(item2)
+                .startDate(LocalDateTime.now().plusDays(1))
+                .endDate(LocalDateTime.now().plusDays(2))
+                .build();
+        when(userRepository.existsById(anyInt())).thenReturn(true);
+        when(itemRepository.findAllByOwnerId(anyInt(), any(Pageable.class))).thenReturn(List.of(item, item2));
+        when(bookingRepository.findLastBookings(anyCollection(), any(Status.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(toItemShortBooking(booking)));
+        when(bookingRepository.findNextBookings(anyCollection(), any(Status.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(toItemShortBooking(nextBooking)));
+        when(commentRepository.findAllByItemIdIn(anyCollection())).thenReturn(List.of(comment));
+
+        List<ItemForOwnerDto> items = itemService.getAllItemsOfUser(1, 0, 10);
+
+        assertEquals(2, items.size());
+        assertEquals(BookingMapper.toShortBooking(booking), items.get(0).getLastBooking());
+        assertNull(items.get(0).getNextBooking());
+        assertEquals(1, items.get(0).getComments().size());
+        assertNull(items.get(1).getLastBooking());
+        assertEquals(BookingMapper.toShortBooking(nextBooking), items.get(1).getNextBooking());
+        assertTrue(items.get(1).getComments().isEmpty());
+        verify(bookingRepository, times(1)).findLastBookings(eq(List.of(1, 2)), eq(Status.APPROVED), any(LocalDateTime.class));
+        verify(bookingRepository, times(1)).findNextBookings(eq(List.of(1, 2)), eq(Status.APPROVED), any(LocalDateTime.class));
+        verify(commentRepository, times(1)).findAllByItemIdIn(List.of(1, 2));
+    }
+
     @Test
     void getItemDtoByIdThrowsEntityNotFoundExceptionWhenUserNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(userRepository.existsById(anyInt())).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> itemService.getItemDtoById(1, 1));
     }
 
     @Test
     void getItemDtoByIdThrowsEntityNotFoundExceptionWhenItemNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findById(anyInt())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> itemService.getItemDtoById(1, 1));
@@ -346,7 +392,7 @@ class ItemServiceImplTest {
 
     @Test
     void getItemDtoByIdSuccessWithoutBookingsAndComments() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findById(anyInt())).thenReturn(Optional.of(item));
 
         ItemForOwnerDto result = itemService.getItemDtoById(1, 1);
@@ -362,9 +408,9 @@ class ItemServiceImplTest {
 
     @Test
     void getItemDtoByIdSuccessWithoutBookingsAndWithComments() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findById(anyInt())).thenReturn(Optional.of(item));
-        when(commentRepository.findAllByItemId(anyInt())).thenReturn(List.of(comment));
+        when(commentRepository.findAllByItemIdIn(anyCollection())).thenReturn(List.of(comment));
 
         ItemForOwnerDto result = itemService.getItemDtoById(1, 1);
 
@@ -381,9 +427,10 @@ class ItemServiceImplTest {
 
     @Test
     void getItemDtoByIdSuccessWithBookingsAndWithoutComments() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findById(anyInt())).thenReturn(Optional.of(item));
-        when(bookingRepository.findAllByItemId(anyInt(), any(Sort.class))).thenReturn(List.of(booking));
+        when(bookingRepository.findLastBookings(anyCollection(), any(Status.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(toItemShortBooking(booking)));
 
         ItemForOwnerDto result = itemService.getItemDtoById(1, 1);
 
@@ -398,10 +445,11 @@ class ItemServiceImplTest {
 
     @Test
     void getItemDtoByIdSuccessWithBookingsComments() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRepository.findById(anyInt())).thenReturn(Optional.of(item));
-        when(bookingRepository.findAllByItemId(anyInt(), any(Sort.class))).thenReturn(List.of(booking));
-        when(commentRepository.findAllByItemId(anyInt())).thenReturn(List.of(comment));
+        when(bookingRepository.findLastBookings(anyCollection(), any(Status.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(toItemShortBooking(booking)));
+        when(commentRepository.findAllByItemIdIn(anyCollection())).thenReturn(List.of(comment));
 
         ItemForOwnerDto result = itemService.getItemDtoById(1, 1);
 
@@ -443,7 +491,7 @@ class ItemServiceImplTest {
 
     @Test
     void searchItemsSuccess() {
-        when(itemRepository.findByText(anyString(), any(Pageable.class))).thenReturn(List.of(item));
+        when(itemRepository.findByText(anyString(), anyInt(), any(Pageable.class))).thenReturn(List.of(item));
 
         List<ItemDto> items = itemService.searchItems("dEsC", 0, 10);
 
@@ -495,4 +543,42 @@ class ItemServiceImplTest {
         assertEquals(result.getText(), comment.getText());
     }
 
-}
\ No newline at end of file
+    @Test
+    void getItemAvailabilityThrowsIncorrectParameterExceptionWhenPeriodInvalid() {
+        when(userRepository.existsById(anyInt())).thenReturn(true);
+        when(itemRepository.findById(anyInt())).thenReturn(Optional.of(item));
+
+        LocalDateTime from = LocalDateTime.of(2030, 1, 2, 0, 0);
+
+        assertThrows(IncorrectParameterException.class,
+                () -> itemService.getItemAvailability(1, 1, from, from.minusDays(1)));
+        assertThrows(IncorrectParameterException.class,
+                () -> itemService.getItemAvailability(1, 1, from, from));
+    }
+
+    @Test
+    void getItemAvailabilitySuccess() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(userRepository.existsById(anyInt())).thenReturn(true);
+        when(itemRepository.findById(anyInt())).thenReturn(Optional.of(item));
+        when(itemAvailabilityCalendar.getBusyPeriods(item.getId(), from, from.plusDays(1))).thenReturn(List.of(
+                new ItemBusyPeriod(1, item.getId(), from.minusHours(2), from.plusHours(2)),
+                new ItemBusyPeriod(2, item.getId(), from.plusHours(2), from.plusHours(3)),
+                new ItemBusyPeriod(3, item.getId(), from.plusHours(5), from.plusHours(30))));
+
+        List<AvailabilitySlotDto> slots = itemService.getItemAvailability(1, 1, from, from.plusDays(1));
+
+        assertEquals(3, slots.size());
+        assertEquals(AvailabilitySlotDto.builder().start("2030-01-01T00:00:00").end("2030-01-01T03:00:00")
+                .available(false).build(), slots.get(0));
+        assertEquals(AvailabilitySlotDto.builder().start("2030-01-01T03:00:00").end("2030-01-01T05:00:00")
+                .available(true).build(), slots.get(1));
+        assertEquals(AvailabilitySlotDto.builder().start("2030-01-01T05:00:00").end("2030-01-02T00:00:00")
+                .available(false).build(), slots.get(2));
+    }
+
+    private ItemShortBookingDto toItemShortBooking(Booking booking) {
+        return new ItemShortBookingDto(booking.getItem().getId(), booking.getId(), booking.getBooker().getId(),
+                booking.getStartDate(), booking.getEndDate());
+    }
+}
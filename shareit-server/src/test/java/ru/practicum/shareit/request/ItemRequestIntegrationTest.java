@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,15 +12,17 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestForOwnerDto;
 import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
 public class ItemRequestIntegrationTest {
 
@@ -34,6 +38,9 @@ public class ItemRequestIntegrationTest {
     @Autowired
     ItemRequestRepository itemRequestRepository;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
     private ItemDto item;
     private ItemDto item2;
     private ItemRequestDto request;
@@ -83,6 +90,45 @@ public class ItemRequestIntegrationTest {
         assertEquals(result.get(0).getItems(), List.of(item));
     }
 
+    @Test
+    void listingsRunSameNumberOfStatementsForAnyNumberOfRequests() {
+        UserDto requestor = userService.addUser(User.builder().name("Requestor").email("requestor@mail.ru").build());
+        UserDto owner = userService.addUser(User.builder().name("Owner").email("owner@mail.ru").build());
+        addRequestWithItems(requestor.getId(), owner.getId());
+
+        long ownerListingStatements = countStatements(() -> itemRequestService.getAllItemRequestsByOwner(requestor.getId()));
+        long pageStatements = countStatements(() -> itemRequestService.getAllRequestsPageable(owner.getId(), 0, 1));
+
+        for (int i = 0; i < 4; i++) {
+            addRequestWithItems(requestor.getId(), owner.getId());
+        }
+
+        assertEquals(ownerListingStatements,
+                countStatements(() -> assertEquals(5, itemRequestService.getAllItemRequestsByOwner(requestor.getId()).size())));
+        assertEquals(pageStatements,
+                countStatements(() -> assertEquals(5, itemRequestService.getAllRequestsPageable(owner.getId(), 0, 5).size())));
+    }
+
+    private void addRequestWithItems(Integer requestorId, Integer ownerId) {
+        ItemRequestDto itemRequestDto = itemRequestService.addItemRequest(ItemRequestDto.builder()
+                .description("description")
+                .build(), requestorId);
+        for (int i = 0; i < 2; i++) {
+            itemService.addItem(ItemDto.builder()
+                    .name("name")
+                    .description("description")
+                    .available(true)
+                    .requestId(itemRequestDto.getId())
+                    .build(), ownerId);
+        }
+    }
+
+    private long countStatements(Runnable runnable) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+        runnable.run();
+        return statistics.getPrepareStatementCount() - before;
+    }
 
     private void createRequests() {
         user = User.builder()
@@ -9,6 +9,7 @@ import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -65,6 +66,29 @@ class ItemRequestRepositoryTest {
         assertTrue(requests.isEmpty());
     }
 
+    @Test
+    public void findOtherRequestsAfterSuccess() {
+        LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        user1 = createUser("User1Name", "user1@mail.ru");
+        user2 = createUser("User2Name", "user2@mail.ru");
+        request1 = createRequest(null, "Request1Description", user2, created);
+        request2 = createRequest(null, "Request2Description", user2, created);
+        createRequest(null, "Request3Description", user1, created.plusMinutes(1));
+        request3 = createRequest(null, "Request4Description", user2, created.plusMinutes(2));
+
+        List<ItemRequest> firstPage = itemRequestRepository.findOtherRequestsByRequestorId(user1.getId(),
+                Pageable.ofSize(1)).getContent();
+        assertEquals(List.of(request1), firstPage);
+
+        List<ItemRequest> requests = itemRequestRepository.findOtherRequestsAfter(user1.getId(),
+                request1.getCreatedDate(), request1.getId(), Pageable.ofSize(10));
+        assertEquals(List.of(request2, request3), requests);
+
+        List<ItemRequest> emptyRequests = itemRequestRepository.findOtherRequestsAfter(user1.getId(),
+                request3.getCreatedDate(), request3.getId(), Pageable.ofSize(10));
+        assertTrue(emptyRequests.isEmpty());
+    }
+
     @Test
     public void findAllByRequestorIdSuccess() {
         Sort sort = Sort.by(Sort.Direction.ASC, "createdDate");
@@ -93,6 +117,17 @@ class ItemRequestRepositoryTest {
         assertTrue(requests.isEmpty());
     }
 
+    @Test
+    public void findIdsByRequestorIdSuccess() {
+        user1 = createUser("User1Name", "user1@mail.ru");
+        user2 = createUser("User2Name", "user2@mail.ru");
+        request1 = createRequest(null, "Request1Description", user1);
+        request2 = createRequest(null, "Request2Description", user2);
+
+        List<Integer> requestIds = itemRequestRepository.findIdsByRequestorId(user1.getId());
+        assertEquals(List.of(request1.getId()), requestIds);
+    }
+
     private User createUser(String name, String email) {
         User user = User.builder()
                 .name(name)
@@ -103,10 +138,14 @@ class ItemRequestRepositoryTest {
     }
 
     private ItemRequest createRequest(Integer id, String description, User user) {
+        return createRequest(id, description, user, LocalDateTime.now());
+    }
+
+    private ItemRequest createRequest(Integer id, String description, User user, LocalDateTime createdDate) {
         ItemRequest request = ItemRequest.builder()
                 .id(id)
                 .description(description)
-                .createdDate(LocalDateTime.now())
+                .createdDate(createdDate)
                 .requestor(user)
                 .build();
 
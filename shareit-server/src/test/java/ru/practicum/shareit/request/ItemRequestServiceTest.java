@@ -7,18 +7,24 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
 import ru.practicum.shareit.exceptions.IncorrectParameterException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestForOwnerDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.user.UserExistenceValidator;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -26,6 +32,7 @@ import java.util.stream.Collectors;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -48,7 +55,8 @@ class ItemRequestServiceTest {
 
     @BeforeEach
     public void beforeEach() {
-        itemRequestService = new ItemRequestServiceImpl(userRepository, itemRepository, itemRequestRepository);
+        itemRequestService = new ItemRequestServiceImpl(userRepository,
+                new UserExistenceValidator(userRepository, 100, Duration.ofMinutes(10)), itemRepository, itemRequestRepository);
         user = User.builder()
                 .id(1)
                 .name("Name")
@@ -88,16 +96,16 @@ class ItemRequestServiceTest {
 
     @Test
     void getAllItemRequestsByOwnerThrowsEntityNotFoundExceptionWhenUserNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(userRepository.existsById(anyInt())).thenReturn(false);
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getAllItemRequestsByOwner(1));
     }
 
     @Test
     void getAllItemRequestsByOwnerSuccess() {
         itemRequest.setId(1);
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRequestRepository.findAllByRequestorId(anyInt(), any(Sort.class))).thenReturn(List.of(itemRequest));
-        when(itemRepository.findAllByRequestId(anyInt())).thenReturn(items);
+        when(itemRepository.findAllByRequestIdIn(List.of(1))).thenReturn(items);
 
         List<ItemRequestForOwnerDto> requests = itemRequestService.getAllItemRequestsByOwner(anyInt());
 
@@ -108,14 +116,14 @@ class ItemRequestServiceTest {
 
     @Test
     void getRequestByIdThrowsEntityNotFoundExceptionWhenUserNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(userRepository.existsById(anyInt())).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getRequestById(1, 1));
     }
 
     @Test
     void getRequestByIdThrowsEntityNotFoundExceptionWhenItemRequestNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRequestRepository.findById(anyInt())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getRequestById(1, 1));
@@ -123,7 +131,7 @@ class ItemRequestServiceTest {
 
     @Test
     void getRequestByIdSuccess() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRequestRepository.findById(anyInt())).thenReturn(Optional.of(itemRequest));
         when(itemRepository.findAllByRequestId(anyInt())).thenReturn(items);
 
@@ -137,14 +145,14 @@ class ItemRequestServiceTest {
 
     @Test
     void getAllRequestsPageableThrowsEntityNotFoundExceptionWhenUserNotFound() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(userRepository.existsById(anyInt())).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> itemRequestService.getAllRequestsPageable(1, 1, 1));
     }
 
     @Test
     void getAllRequestsPageableThrowsIncorrectParameterExceptionWhenInvalidParams() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         assertThrows(IncorrectParameterException.class, () -> itemRequestService.getAllRequestsPageable(2, -1, -1));
         assertThrows(IncorrectParameterException.class, () -> itemRequestService.getAllRequestsPageable(2, -1, 5));
         assertThrows(IncorrectParameterException.class, () -> itemRequestService.getAllRequestsPageable(2, 0, 0));
@@ -152,7 +160,7 @@ class ItemRequestServiceTest {
 
     @Test
     void getAllRequestsPageableSuccessEmptyList() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
 
         List<ItemRequestForOwnerDto> requests = itemRequestService.getAllRequestsPageable(2, null, null);
         assertNotNull(requests);
@@ -161,7 +169,7 @@ class ItemRequestServiceTest {
 
     @Test
     void getAllRequestsPageableSuccess() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.existsById(anyInt())).thenReturn(true);
         when(itemRequestRepository.findOtherRequestsByRequestorId(anyInt(), any(Pageable.class))).thenReturn(Page.empty());
 
         List<ItemRequestForOwnerDto> requests = itemRequestService.getAllRequestsPageable(2, 1, 10);
@@ -169,4 +177,40 @@ class ItemRequestServiceTest {
         assertNotNull(requests);
         assertTrue(requests.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllRequestsAfterStartsFromFirstPageWithoutCursor() {
+        itemRequest.setId(1);
+        when(userRepository.existsById(anyInt())).thenReturn(true);
+        when(itemRequestRepository.findOtherRequestsByRequestorId(eq(2), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(itemRequest)));
+        when(itemRepository.findAllByRequestIdIn(List.of(itemRequest.getId()))).thenReturn(items);
+
+        CursorPage<ItemRequestForOwnerDto> page = itemRequestService.getAllRequestsAfter(2, "", 1);
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(1, page.getContent().get(0).getItems().size());
+        assertEquals(new Cursor(itemRequest.getCreatedDate(), itemRequest.getId()), Cursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getAllRequestsAfterContinuesFromCursor() {
+        Cursor cursor = new Cursor(LocalDateTime.now(), 7);
+        when(userRepository.existsById(anyInt())).thenReturn(true);
+        when(itemRequestRepository.findOtherRequestsAfter(eq(2), eq(cursor.getTimestamp()), eq(7), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        CursorPage<ItemRequestForOwnerDto> page = itemRequestService.getAllRequestsAfter(2, cursor.encode(), 10);
+
+        assertTrue(page.getContent().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getAllRequestsAfterThrowsIncorrectParameterException() {
+        when(userRepository.existsById(anyInt())).thenReturn(true);
+
+        assertThrows(IncorrectParameterException.class, () -> itemRequestService.getAllRequestsAfter(2, "", 0));
+        assertThrows(IncorrectParameterException.class, () -> itemRequestService.getAllRequestsAfter(2, "%%", 10));
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exceptions.EntityNotFoundException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserExistenceValidatorTest {
+
+    private UserExistenceValidator userExistenceValidator;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @BeforeEach
+    public void setUp() {
+        userExistenceValidator = new UserExistenceValidator(userRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void validateUserExistsQueriesDatabaseOnceForKnownUser() {
+        when(userRepository.existsById(1)).thenReturn(true);
+
+        userExistenceValidator.validateUserExists(1);
+        userExistenceValidator.validateUserExists(1);
+
+        verify(userRepository, times(1)).existsById(1);
+    }
+
+    @Test
+    void validateUserExistsThrowsEntityNotFoundExceptionWhenUserNotFound() {
+        when(userRepository.existsById(1)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> userExistenceValidator.validateUserExists(1));
+        assertThrows(EntityNotFoundException.class, () -> userExistenceValidator.validateUserExists(1));
+
+        verify(userRepository, times(2)).existsById(1);
+    }
+
+    @Test
+    void validateUserExistsSkipsDatabaseForRememberedUser() {
+        userExistenceValidator.remember(1);
+
+        userExistenceValidator.validateUserExists(1);
+
+        verify(userRepository, never()).existsById(anyInt());
+    }
+
+    @Test
+    void validateUserExistsThrowsEntityNotFoundExceptionWhenUserIsForgotten() {
+        when(userRepository.existsById(1)).thenReturn(true, false);
+        userExistenceValidator.validateUserExists(1);
+
+        userExistenceValidator.forget(1);
+
+        assertThrows(EntityNotFoundException.class, () -> userExistenceValidator.validateUserExists(1));
+    }
+}
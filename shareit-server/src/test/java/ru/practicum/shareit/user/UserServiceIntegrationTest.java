@@ -1,5 +1,7 @@
 package ru.practicum.shareit.user;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +12,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,6 +25,9 @@ public class UserServiceIntegrationTest {
     @Autowired
     UserService userService;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
     private User user;
     private User user2;
     private User user3;
@@ -116,6 +122,19 @@ public class UserServiceIntegrationTest {
         assertEquals(result3.getEmail(), user3.getEmail());
     }
 
+    @Test
+    void getUserByIdIsServedFromSecondLevelCache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userService.getUserDtoById(2);
+        statistics.clear();
+
+        UserDto result = userService.getUserDtoById(2);
+
+        assertEquals(user2.getName(), result.getName());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
     @Test
     void deleteUserById() {
         List<UserDto> users = userService.getAllUsers();
@@ -5,11 +5,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.exceptions.EntityNotFoundException;
+import ru.practicum.shareit.item.ItemSearchEngine;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -29,9 +36,24 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+
+    @Mock
+    private UserExistenceValidator userExistenceValidator;
+
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
     @BeforeEach
     public void setUp() {
-        userService = new UserService(userRepository);
+        userService = new UserService(userRepository, itemRequestRepository, userExistenceValidator, itemSearchEngine, entityManagerFactory);
         user = User.builder()
                 .id(1)
                 .name("Name")
@@ -47,6 +69,7 @@ class UserServiceTest {
 
         assertNotNull(userDto1);
         assertEquals(userDto, userDto1);
+        verify(userExistenceValidator, times(1)).remember(1);
     }
 
     @Test
@@ -182,14 +205,47 @@ class UserServiceTest {
     }
 
     @Test
-    void deleteUserByIdSuccess() {
+    void deleteUserByIdCleansUpCacheAndIndexAfterCommit() {
         when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(itemRequestRepository.findIdsByRequestorId(1)).thenReturn(List.of(5));
         doNothing().when(userRepository).delete(user);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.deleteUserById(1);
+
+            verify(userRepository, times(1)).findById(1);
+            verify(userRepository, times(1)).delete(user);
+            verifyNoInteractions(userExistenceValidator, cache, itemSearchEngine);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(userExistenceValidator, times(1)).forget(1);
+        verify(cache, times(1)).evict(ItemRequest.class, 5);
+        verify(cache, never()).evict(ItemRequest.class);
+        verify(itemSearchEngine, times(1)).removeUserItems(1);
+    }
+
+    @Test
+    void deleteUserByIdKeepsCacheAndIndexWhenRolledBack() {
+        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(itemRequestRepository.findIdsByRequestorId(1)).thenReturn(List.of(5));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.deleteUserById(1);
 
-        userService.deleteUserById(1);
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
 
-        verify(userRepository, times(1)).findById(1);
-        verify(userRepository, times(1)).delete(user);
+        verifyNoInteractions(userExistenceValidator, entityManagerFactory, itemSearchEngine);
     }
 
     @Test
@@ -199,5 +255,6 @@ class UserServiceTest {
         assertThrows(EntityNotFoundException.class, () -> userService.deleteUserById(100));
 
         verify(userRepository, times(1)).findById(100);
+        verify(userExistenceValidator, never()).forget(anyInt());
     }
 }
\ No newline at end of file